@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.piengine.core.scene.Scene;
+
+/**
+ * Cost of AbstractApp lifecycle transitions. Every benchmark leaves the app in
+ * the state it found it in, so iterations are independent.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class AppLifecycleBenchmark {
+
+    /** The plugins. */
+    @Param({ "0", "8" })
+    int plugins;
+
+    /** The app. */
+    private NoOpApp app;
+
+    /**
+	 * Setup, leaving the app running.
+	 */
+    @Setup
+    public void setup() {
+        app = new NoOpApp(new Scene("bench"));
+        for (int p = 0; p < plugins; p++) {
+            app.addPlugin(new NoOpPlugin("plugin-" + p));
+        }
+        app.initialize();
+        app.start();
+    }
+
+    /**
+	 * Pause then unpause.
+	 */
+    @Benchmark
+    public void pauseUnpause() {
+        app.pause();
+        app.unpause();
+    }
+
+    /**
+	 * Stop then start.
+	 */
+    @Benchmark
+    public void stopStart() {
+        app.stop();
+        app.start();
+    }
+
+    /**
+	 * Full running cycle through every transition.
+	 */
+    @Benchmark
+    public void fullCycle() {
+        app.pause();
+        app.unpause();
+        app.stop();
+        app.start();
+    }
+}
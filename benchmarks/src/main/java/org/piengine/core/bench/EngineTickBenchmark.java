@@ -0,0 +1,106 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.bench;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.piengine.core.FrameExecutionMode;
+import org.piengine.core.scene.Scene;
+
+/**
+ * Cost of a single engine frame with N apps each carrying M no-op plugins, for
+ * every frame execution mode. Since all work is no-op, the score is the
+ * engine's fan-out and join overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class EngineTickBenchmark {
+
+    /** The apps. */
+    @Param({ "1", "4", "16" })
+    int apps;
+
+    /** The plugins per app. */
+    @Param({ "0", "8", "32" })
+    int plugins;
+
+    /** The mode. */
+    @Param({ "STRUCTURED", "WORKERS" })
+    FrameExecutionMode mode;
+
+    /** The engine. */
+    private NoOpEngine engine;
+
+    /**
+	 * Setup.
+	 */
+    @Setup
+    public void setup() {
+        engine = new NoOpEngine();
+        engine.setExecutionMode(mode);
+        for (int a = 0; a < apps; a++) {
+            NoOpApp app = new NoOpApp(new Scene("bench-" + a));
+            for (int p = 0; p < plugins; p++) {
+                app.addPlugin(new NoOpPlugin("plugin-" + a + "-" + p));
+            }
+            engine.startApp(app);
+        }
+    }
+
+    /**
+	 * Tear down.
+	 */
+    @TearDown
+    public void tearDown() {
+        engine.close();
+    }
+
+    /**
+	 * One frame.
+	 *
+	 * @throws InterruptedException the interrupted exception
+	 * @throws ExecutionException   the execution exception
+	 */
+    @Benchmark
+    public void frame() throws InterruptedException, ExecutionException {
+        engine.frame(1.0f / 60.0f);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.bench;
+
+import org.piengine.core.app.impl.AbstractApp;
+import org.piengine.core.scene.Scene;
+
+/**
+ * App whose scene hooks do no work.
+ */
+class NoOpApp extends AbstractApp {
+
+    /**
+	 * Instantiates a new no-op app.
+	 *
+	 * @param scene the scene
+	 */
+    NoOpApp(Scene scene) {
+        super(scene);
+    }
+
+    @Override
+    protected void initializeScene() {
+    }
+
+    @Override
+    protected void startScene() {
+    }
+
+    @Override
+    protected void updateScene(float deltaTime) {
+    }
+
+    @Override
+    protected void pauseScene() {
+    }
+
+    @Override
+    protected void unpauseScene() {
+    }
+
+    @Override
+    protected void stopScene() {
+    }
+
+    @Override
+    protected void cleanupScene() {
+    }
+}
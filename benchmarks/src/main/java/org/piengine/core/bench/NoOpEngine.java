@@ -0,0 +1,55 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.bench;
+
+import java.util.concurrent.ExecutionException;
+
+import org.piengine.core.impl.AbstractEngine;
+
+/**
+ * Engine without core subsystems, exposing a single loop iteration.
+ */
+class NoOpEngine extends AbstractEngine {
+
+    /**
+	 * Runs one simulation step and one render pass, the work of a single
+	 * {@link #run()} iteration without clock and pacing.
+	 *
+	 * @param deltaTime the step delta
+	 * @throws InterruptedException the interrupted exception
+	 * @throws ExecutionException   the execution exception
+	 */
+    void frame(float deltaTime) throws InterruptedException, ExecutionException {
+        simulate(deltaTime);
+        render(0f);
+    }
+
+    /**
+	 * @see org.piengine.core.impl.AbstractEngine#initializeCore()
+	 */
+    @Override
+    protected Void initializeCore() {
+        return null;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.bench;
+
+import org.piengine.core.app.App;
+import org.piengine.core.plugin.Plugin;
+import org.piengine.core.scene.Scene;
+
+/**
+ * Plugin doing no work, so benchmarks measure the engine's scheduling overhead
+ * alone.
+ */
+class NoOpPlugin implements Plugin {
+
+    /** The id. */
+    private final String id;
+
+    /**
+	 * Instantiates a new no-op plugin.
+	 *
+	 * @param id the id
+	 */
+    NoOpPlugin(String id) {
+        this.id = id;
+    }
+
+    /**
+	 * @see org.piengine.core.plugin.Plugin#getId()
+	 */
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    /**
+	 * @see org.piengine.core.plugin.Plugin#init()
+	 */
+    @Override
+    public void init() {
+    }
+
+    /**
+	 * @see org.piengine.core.plugin.Plugin#update(float)
+	 */
+    @Override
+    public void update(float deltaTime) {
+    }
+
+    /**
+	 * @see org.piengine.core.plugin.Plugin#shutdown()
+	 */
+    @Override
+    public void shutdown() {
+    }
+
+    /**
+	 * @see org.piengine.core.plugin.Plugin#initForApp(org.piengine.core.app.App)
+	 */
+    @Override
+    public void initForApp(App app) {
+    }
+
+    /**
+	 * @see org.piengine.core.plugin.Plugin#processScene(org.piengine.core.scene.Scene)
+	 */
+    @Override
+    public void processScene(Scene scene) {
+    }
+}
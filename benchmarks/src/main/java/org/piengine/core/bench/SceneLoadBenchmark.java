@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.bench;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.piengine.core.impl.ConfigLoader;
+import org.piengine.core.scene.Scene;
+
+/**
+ * Cost of ConfigLoader.loadScene for synthetic .pis scenes of varying size, one
+ * light per ten meshes, every node with a transform.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class SceneLoadBenchmark {
+
+    /** The nodes. */
+    @Param({ "100", "1000", "10000" })
+    int nodes;
+
+    /** The loader. */
+    private final ConfigLoader loader = new ConfigLoader();
+
+    /** The synthetic scene. */
+    private byte[] pis;
+
+    /**
+	 * Setup.
+	 */
+    @Setup
+    public void setup() {
+        StringBuilder yaml = new StringBuilder("scene:\n  nodes:\n");
+        for (int i = 0; i < nodes; i++) {
+            yaml.append("    - id: node").append(i).append('\n');
+            if (i % 10 == 9) {
+                yaml.append("      type: point_light\n")
+                    .append("      color: [1.0, 0.9, 0.8]\n")
+                    .append("      intensity: 2.5\n");
+            } else {
+                yaml.append("      type: mesh\n")
+                    .append("      geometry: mesh").append(i % 16).append(".pio\n")
+                    .append("      material: material").append(i % 8).append(".pim\n");
+            }
+            yaml.append("      transform:\n")
+                .append("        position: [").append(i).append(".0, 0.0, ").append(-i).append(".0]\n")
+                .append("        rotation: [0.0, 0.5, 0.0]\n")
+                .append("        scale: [1.0, 1.0, 1.0]\n");
+        }
+        pis = yaml.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+	 * Load scene.
+	 *
+	 * @return the scene
+	 */
+    @Benchmark
+    public Scene loadScene() {
+        return loader.loadScene("bench", new ByteArrayInputStream(pis));
+    }
+}
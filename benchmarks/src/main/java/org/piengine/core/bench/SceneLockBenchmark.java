@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.piengine.core.scene.Scene;
+
+/**
+ * Round-trip cost of the Scene read and write locks, uncontended and with
+ * readers contending against a writer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class SceneLockBenchmark {
+
+    /** The scene. */
+    private final Scene scene = new Scene("bench");
+
+    /**
+	 * Read lock round trip.
+	 *
+	 * @throws InterruptedException the interrupted exception
+	 */
+    @Benchmark
+    @Threads(1)
+    public void readLock() throws InterruptedException {
+        try (var read = scene.lockForRead()) {
+        }
+    }
+
+    /**
+	 * Write lock round trip.
+	 *
+	 * @throws InterruptedException the interrupted exception
+	 */
+    @Benchmark
+    @Threads(1)
+    public void writeLock() throws InterruptedException {
+        try (var write = scene.lockForWrite()) {
+        }
+    }
+
+    /**
+	 * Read lock upgraded to write lock and released.
+	 *
+	 * @throws InterruptedException the interrupted exception
+	 */
+    @Benchmark
+    @Threads(1)
+    public void readUpgradeWrite() throws InterruptedException {
+        try (var read = scene.lockForRead()) {
+            try (var write = scene.lockForWrite()) {
+            }
+        }
+    }
+
+    /**
+	 * Readers of the contended group.
+	 *
+	 * @throws InterruptedException the interrupted exception
+	 */
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(3)
+    public void contendedRead() throws InterruptedException {
+        try (var read = scene.lockForRead()) {
+        }
+    }
+
+    /**
+	 * Writer of the contended group.
+	 *
+	 * @throws InterruptedException the interrupted exception
+	 */
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public void contendedWrite() throws InterruptedException {
+        try (var write = scene.lockForWrite()) {
+        }
+    }
+}
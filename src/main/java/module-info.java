@@ -114,7 +114,11 @@ module org.piengine.core {
     exports org.piengine.core.plugin;
     exports org.piengine.core.app;
     exports org.piengine.core.scene;
+    exports org.piengine.core.metrics;
+    exports org.piengine.core.event;
     
+    uses org.piengine.core.plugin.Plugin;
+
     requires org.yaml.snakeyaml;
     requires java.base;
     requires transitive org.piengine.math;
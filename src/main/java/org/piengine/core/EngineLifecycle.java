@@ -23,7 +23,12 @@
  */
 package org.piengine.core;
 
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
 import org.piengine.core.app.App;
+import org.piengine.core.event.EventBus;
+import org.piengine.core.metrics.FrameMetrics;
 import org.piengine.core.plugin.Plugin;
 
 /**
@@ -41,6 +46,31 @@ public interface EngineLifecycle extends AutoCloseable {
 	 * Run.
 	 */
     void run();
+
+    /**
+	 * Runs a single frame of one simulation step with the given delta, without
+	 * pacing, for callers driving the engine from their own loop. Renders after
+	 * the step unless the engine is headless.
+	 *
+	 * @param deltaTime the step delta in seconds
+	 */
+    void step(float deltaTime);
+
+    /**
+	 * Runs the given number of frames back to back, each one a
+	 * {@link #step(float)} with the engine's fixed tick delta, so repeated runs
+	 * are deterministic.
+	 *
+	 * @param frames the frame count
+	 */
+    void runFrames(int frames);
+
+    /**
+	 * Wakes the loop if it is parked because no app is running. Starting or
+	 * unpausing an app and loading a plugin wake it implicitly; plugins call
+	 * this when they have work that must not wait for the idle heartbeat.
+	 */
+    void wakeup();
     
     /**
      * @see java.lang.AutoCloseable#close()
@@ -89,4 +119,87 @@ public interface EngineLifecycle extends AutoCloseable {
 	 * @param app the app
 	 */
     void unpauseApp(App app);
+
+    /**
+	 * Queues loading a plugin without blocking. Queued commands are applied
+	 * together at the next frame boundary, or right away while no frame is
+	 * running.
+	 *
+	 * @param plugin the plugin
+	 * @return completed once the plugin is loaded
+	 */
+    CompletableFuture<Void> loadPluginAsync(Plugin plugin);
+
+    /**
+	 * Queues unloading a plugin without blocking.
+	 *
+	 * @param plugin the plugin
+	 * @return completed once the plugin is unloaded
+	 * @see #loadPluginAsync(Plugin)
+	 */
+    CompletableFuture<Void> unloadPluginAsync(Plugin plugin);
+
+    /**
+	 * Queues starting an app without blocking.
+	 *
+	 * @param app the app
+	 * @return completed once the app is running
+	 * @see #loadPluginAsync(Plugin)
+	 */
+    CompletableFuture<Void> startAppAsync(App app);
+
+    /**
+	 * Queues stopping an app without blocking.
+	 *
+	 * @param app the app
+	 * @return completed once the app is stopped and cleaned up
+	 * @see #loadPluginAsync(Plugin)
+	 */
+    CompletableFuture<Void> stopAppAsync(App app);
+
+    /**
+	 * Queues pausing an app without blocking.
+	 *
+	 * @param app the app
+	 * @return completed once the app is paused
+	 * @see #loadPluginAsync(Plugin)
+	 */
+    CompletableFuture<Void> pauseAppAsync(App app);
+
+    /**
+	 * Queues unpausing an app without blocking.
+	 *
+	 * @param app the app
+	 * @return completed once the app is running again
+	 * @see #loadPluginAsync(Plugin)
+	 */
+    CompletableFuture<Void> unpauseAppAsync(App app);
+
+    /**
+	 * Hot reloads a plugin from a module path without stopping the loop. The
+	 * plugin modules are loaded into a new module layer off the loop, then at
+	 * the next frame boundary every loaded instance with the id, engine-wide
+	 * and in running apps, is replaced by a new instance that takes over its
+	 * {@link Plugin#exportState() state}.
+	 *
+	 * @param pluginId   the id of the plugin to replace
+	 * @param modulePath the module path holding the new build
+	 * @return completed once the plugin is swapped
+	 */
+    CompletableFuture<Void> reloadPluginAsync(String pluginId, Path... modulePath);
+
+    /**
+	 * Gets the event bus apps and plugins exchange messages over, dispatched
+	 * once per frame.
+	 *
+	 * @return the event bus
+	 */
+    EventBus getEventBus();
+
+    /**
+	 * Gets the frame timing metrics.
+	 *
+	 * @return the metrics
+	 */
+    FrameMetrics getMetrics();
 }
\ No newline at end of file
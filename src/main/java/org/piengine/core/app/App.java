@@ -23,6 +23,7 @@
  */
 package org.piengine.core.app;
 
+import org.piengine.core.event.EventBus;
 import org.piengine.core.scene.Scene;
 import org.piengine.core.plugin.Plugin;
 
@@ -31,6 +32,37 @@ import org.piengine.core.plugin.Plugin;
  * Each app manages its own scene and plugins.
  */
 public interface App {
+
+    /**
+	 * Gets the name used in metrics and diagnostics.
+	 *
+	 * @return the name, by default the app's simple class name
+	 */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+	 * Gets the rate the app wants to be updated at. Below the engine tick
+	 * rate, steps are skipped and the next update receives the accumulated
+	 * delta.
+	 *
+	 * @return the tick rate in Hz, by default 0 to update with every step of
+	 *         the engine
+	 */
+    default double getTickRate() {
+        return 0;
+    }
+
+    /**
+	 * Gets the event bus of the engine the app is started on, for the app and
+	 * its plugins to exchange messages with other apps.
+	 *
+	 * @return the event bus, by default null when not attached to an engine
+	 */
+    default EventBus getEventBus() {
+        return null;
+    }
     
     /**
 	 * Initialize.
@@ -48,6 +80,23 @@ public interface App {
 	 * @param deltaTime the delta time
 	 */
     void update(float deltaTime);
+
+    /**
+	 * Ends the simulation of a frame. Called once per frame on the simulation
+	 * thread, after the frame's last simulation step and before the frame is
+	 * rendered.
+	 */
+    default void endFrame() {
+    }
+
+    /**
+	 * Render. Called once per frame after the frame's fixed simulation steps.
+	 *
+	 * @param alpha the interpolation factor in [0, 1) between the previous and
+	 *              the current simulation state
+	 */
+    default void render(float alpha) {
+    }
     
     /**
 	 * Pause.
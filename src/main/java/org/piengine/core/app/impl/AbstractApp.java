@@ -23,14 +23,26 @@
  */
 package org.piengine.core.app.impl;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.StructuredTaskScope;
+import java.util.function.Supplier;
 
 import org.piengine.core.app.App;
 import org.piengine.core.app.AppStatus;
+import org.piengine.core.event.EventBus;
+import org.piengine.core.impl.CpuPool;
+import org.piengine.core.impl.FrameExecutor;
+import org.piengine.core.impl.FrameWatchdog;
+import org.piengine.core.impl.ScopedFrameExecutor;
+import org.piengine.core.impl.TaskGraph;
+import org.piengine.core.impl.TickDivider;
+import org.piengine.core.metrics.FrameMetrics;
+import org.piengine.core.metrics.LatencyHistogram;
 import org.piengine.core.plugin.Plugin;
+import org.piengine.core.plugin.PluginSchedule;
 import org.piengine.core.scene.Scene;
 
 /**
@@ -47,7 +59,40 @@ public abstract class AbstractApp implements App {
     protected final List<Plugin> plugins = new CopyOnWriteArrayList<>();
     
     /** The status. */
-    protected AppStatus status = AppStatus.UNINITIALIZED;
+    protected volatile AppStatus status = AppStatus.UNINITIALIZED;
+
+    /** The frame executor. */
+    private volatile FrameExecutor frameExecutor = ScopedFrameExecutor.INSTANCE;
+
+    /** The metrics, or null when not attached to an engine. */
+    private volatile FrameMetrics metrics;
+
+    /** The frame-budget watchdog, or null when not attached to an engine. */
+    private volatile FrameWatchdog watchdog;
+
+    /** The event bus, or null when not attached to an engine. */
+    private volatile EventBus eventBus;
+
+    /** The is headless. */
+    private volatile boolean headless;
+
+    /** The tick rate, 0 to tick with every engine step. */
+    private volatile double tickRate;
+
+    /** Set when plugins changed and the frame tasks must be rebuilt. */
+    private volatile boolean tasksDirty = true;
+
+    /** The update task graph. */
+    private volatile TaskGraph updateGraph = TaskGraph.EMPTY;
+
+    /** The render task graph. */
+    private volatile TaskGraph renderGraph = TaskGraph.EMPTY;
+
+    /** The delta of the step being simulated. */
+    private float stepDelta;
+
+    /** The alpha of the frame being rendered. */
+    private float renderAlpha;
 
     /**
 	 * Instantiates a new abstract app.
@@ -58,6 +103,41 @@ public abstract class AbstractApp implements App {
         this.scene = scene;
     }
 
+    /**
+	 * Gets the name.
+	 *
+	 * @return the name, qualified by the scene name
+	 * @see org.piengine.core.app.App#getName()
+	 */
+    @Override
+    public String getName() {
+        return getClass().getSimpleName() + "[" + scene.name() + "]";
+    }
+
+    /**
+	 * Gets the tick rate.
+	 *
+	 * @return the tick rate
+	 * @see org.piengine.core.app.App#getTickRate()
+	 */
+    @Override
+    public double getTickRate() {
+        return tickRate;
+    }
+
+    /**
+	 * Sets the rate the app is updated at, or 0 to update with every engine
+	 * step.
+	 *
+	 * @param hz the tick rate in Hz
+	 */
+    public void setTickRate(double hz) {
+        if (hz < 0) {
+            throw new IllegalArgumentException("Tick rate must not be negative: " + hz);
+        }
+        this.tickRate = hz;
+    }
+
     /**
 	 * Initialize.
 	 *
@@ -114,7 +194,8 @@ public abstract class AbstractApp implements App {
     }
 
     /**
-	 * Update.
+	 * Update. Publishes a new frame of a buffered scene once the step's scene
+	 * update and plugins completed.
 	 *
 	 * @param deltaTime the delta time
 	 * @see org.piengine.core.app.App#update(float)
@@ -124,17 +205,16 @@ public abstract class AbstractApp implements App {
         if (status != AppStatus.RUNNING) {
             return;
         }
-        try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
-            scope.fork(() -> {
-                updateScene(deltaTime);
-                return null;
-            });
-            plugins.forEach(plugin -> scope.fork(() -> {
-                plugin.update(deltaTime);
-                plugin.processScene(scene);
-                return null;
-            }));
-            scope.join().throwIfFailed();
+        if (tasksDirty) {
+            rebuildFrameTasks();
+        }
+        this.stepDelta = deltaTime;
+        try {
+            updateGraph.execute(frameExecutor);
+            scene.applyCommands();
+            scene.updateWorldTransforms(CpuPool.get());
+            scene.publishSnapshot();
+            scene.clearChanges();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new RuntimeException("App update interrupted", e);
@@ -143,6 +223,212 @@ public abstract class AbstractApp implements App {
         }
     }
 
+    /**
+	 * End frame. Publishes the scene's state as of the frame's last simulation
+	 * step for buffered render plugins.
+	 *
+	 * @see org.piengine.core.app.App#endFrame()
+	 */
+    @Override
+    public void endFrame() {
+        if (status == AppStatus.RUNNING) {
+            scene.publishFrame();
+        }
+    }
+
+    /**
+	 * Render. Acquires the latest published frame of a buffered scene for the
+	 * render plugins to read.
+	 *
+	 * @param alpha the interpolation alpha
+	 * @see org.piengine.core.app.App#render(float)
+	 */
+    @Override
+    public void render(float alpha) {
+        if (status != AppStatus.RUNNING) {
+            return;
+        }
+        if (tasksDirty) {
+            rebuildFrameTasks();
+        }
+        this.renderAlpha = alpha;
+        scene.acquireFrame();
+        try {
+            renderGraph.execute(frameExecutor);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("App render interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("App render failed", e);
+        }
+    }
+
+    /**
+	 * Rebuilds the per-frame task graphs after the plugin list changed. The
+	 * scene update is registered first, writing
+	 * {@link PluginSchedule#SCENE}, so plugins declaring scene access are
+	 * ordered after it. Plugins run where their
+	 * {@link Plugin#getExecutionPolicy() execution policy} asks. Synchronized,
+	 * as a pipelined render may find the graphs dirty at the same time as the
+	 * simulation.
+	 */
+    private synchronized void rebuildFrameTasks() {
+        if (!tasksDirty) {
+            return;
+        }
+        tasksDirty = false;
+        List<TaskGraph.Node> update = new ArrayList<>();
+        List<TaskGraph.Node> render = new ArrayList<>();
+        update.add(new TaskGraph.Node(PluginSchedule.SCENE_UPDATE,
+                PluginSchedule.UNCONSTRAINED.withWrites(PluginSchedule.SCENE),
+                timed("updateScene", () -> updateScene(stepDelta))));
+        for (Plugin plugin : plugins) {
+            if (headless && plugin.requiresDisplay()) {
+                continue;
+            }
+            update.add(new TaskGraph.Node(plugin.getId(), plugin.getSchedule(), plugin.getExecutionPolicy(),
+                    updateTask(plugin)));
+            render.add(new TaskGraph.Node(plugin.getId(), plugin.getSchedule(), plugin.getExecutionPolicy(),
+                    timed(plugin.getId() + ".render", () -> plugin.render(renderAlpha))));
+        }
+        updateGraph = TaskGraph.build(update);
+        renderGraph = TaskGraph.build(render);
+    }
+
+    /**
+	 * Creates a plugin's per-step task, timing its update and its scene
+	 * processing separately. Plugins ticking slower than the app skip steps
+	 * and receive the time accumulated since their last tick. Ticks are guarded
+	 * by the engine's frame-budget watchdog when attached.
+	 *
+	 * @param plugin the plugin
+	 * @return the runnable
+	 */
+    private Runnable updateTask(Plugin plugin) {
+        TickDivider divider = new TickDivider();
+        FrameMetrics metrics = this.metrics;
+        if (metrics == null) {
+            Runnable guarded = guard(plugin, divider, () -> {
+                plugin.update(divider.delta());
+                plugin.processScene(scene);
+            });
+            return () -> {
+                if (divider.tick(stepDelta, plugin.getTickRate())) {
+                    guarded.run();
+                }
+            };
+        }
+        LatencyHistogram updateTime = metrics.component(getName() + "/" + plugin.getId() + ".update");
+        LatencyHistogram processTime = metrics.component(getName() + "/" + plugin.getId() + ".processScene");
+        Runnable timed = metrics.timed(getName() + "/" + plugin.getId(), () -> {
+            if (!metrics.isEnabled()) {
+                plugin.update(divider.delta());
+                plugin.processScene(scene);
+                return;
+            }
+            long start = System.nanoTime();
+            plugin.update(divider.delta());
+            long updated = System.nanoTime();
+            plugin.processScene(scene);
+            updateTime.record(updated - start);
+            processTime.record(System.nanoTime() - updated);
+        });
+        Runnable guarded = guard(plugin, divider, timed);
+        return () -> {
+            if (divider.tick(stepDelta, plugin.getTickRate())) {
+                guarded.run();
+            }
+        };
+    }
+
+    /**
+	 * Guards a plugin tick with the watchdog when attached.
+	 *
+	 * @param plugin  the plugin
+	 * @param divider the plugin's tick divider
+	 * @param task    the tick
+	 * @return the runnable
+	 */
+    private Runnable guard(Plugin plugin, TickDivider divider, Runnable task) {
+        FrameWatchdog watchdog = this.watchdog;
+        return (watchdog == null) ? task
+                : watchdog.guard(getName() + "/" + plugin.getId(), plugin.getOverrunPolicy(), task,
+                        () -> plugin.updateDegraded(divider.delta()));
+    }
+
+    /**
+	 * Wraps a task with a timer when metrics are attached.
+	 *
+	 * @param component the component name, qualified by the app name
+	 * @param task      the task
+	 * @return the runnable
+	 */
+    private Runnable timed(String component, Runnable task) {
+        FrameMetrics metrics = this.metrics;
+        return (metrics == null) ? task : metrics.timed(getName() + "/" + component, task);
+    }
+
+    /**
+	 * Switches headless mode, in which plugins requiring a display are neither
+	 * added nor scheduled.
+	 *
+	 * @param headless true for headless
+	 */
+    public void setHeadless(boolean headless) {
+        this.headless = headless;
+        this.tasksDirty = true;
+    }
+
+    /**
+	 * Attaches the metrics the app's frame tasks are timed into.
+	 *
+	 * @param metrics the new metrics
+	 */
+    public void setMetrics(FrameMetrics metrics) {
+        this.metrics = metrics;
+        this.tasksDirty = true;
+    }
+
+    /**
+	 * Gets the event bus.
+	 *
+	 * @return the event bus
+	 * @see org.piengine.core.app.App#getEventBus()
+	 */
+    @Override
+    public EventBus getEventBus() {
+        return eventBus;
+    }
+
+    /**
+	 * Attaches the event bus of the engine the app is started on.
+	 *
+	 * @param eventBus the new event bus
+	 */
+    public void setEventBus(EventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    /**
+	 * Attaches the watchdog holding the app's plugins to the frame budget.
+	 *
+	 * @param watchdog the new watchdog
+	 */
+    public void setWatchdog(FrameWatchdog watchdog) {
+        this.watchdog = watchdog;
+        this.tasksDirty = true;
+    }
+
+    /**
+	 * Sets the executor used for the per-frame fan-out of this app's scene
+	 * update and plugins.
+	 *
+	 * @param frameExecutor the new frame executor
+	 */
+    public void setFrameExecutor(FrameExecutor frameExecutor) {
+        this.frameExecutor = frameExecutor;
+    }
+
     /**
 	 * Pause.
 	 *
@@ -245,6 +531,7 @@ public abstract class AbstractApp implements App {
             throw new RuntimeException("App cleanup failed", e);
         }
         plugins.clear();
+        tasksDirty = true;
         status = AppStatus.TERMINATED;
     }
 
@@ -278,11 +565,15 @@ public abstract class AbstractApp implements App {
 	 */
     @Override
     public void addPlugin(Plugin plugin) {
+        if (headless && plugin.requiresDisplay()) {
+            return;
+        }
         try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
             scope.fork(() -> {
                 plugin.init();
                 plugin.initForApp(this);
                 plugins.add(plugin);
+                tasksDirty = true;
                 return null;
             });
             scope.join().throwIfFailed();
@@ -306,6 +597,7 @@ public abstract class AbstractApp implements App {
             scope.fork(() -> {
                 plugin.shutdown();
                 plugins.remove(plugin);
+                tasksDirty = true;
                 return null;
             });
             scope.join().throwIfFailed();
@@ -317,6 +609,43 @@ public abstract class AbstractApp implements App {
         }
     }
 
+    /**
+	 * Replaces every plugin with the given id by a new instance, handing over
+	 * its exported state. In headless mode, a new instance requiring a display
+	 * is skipped and the plugin it would replace removed. Must be called at a
+	 * frame boundary.
+	 *
+	 * @param id      the plugin id
+	 * @param factory creates the replacing instances
+	 * @return the number of plugins replaced or removed
+	 */
+    public int replacePlugin(String id, Supplier<? extends Plugin> factory) {
+        int replaced = 0;
+        for (int i = 0; i < plugins.size(); i++) {
+            Plugin old = plugins.get(i);
+            if (!old.getId().equals(id)) {
+                continue;
+            }
+            Plugin plugin = factory.get();
+            if (headless && plugin.requiresDisplay()) {
+                old.shutdown();
+                plugins.remove(i--);
+                replaced++;
+                continue;
+            }
+            plugin.init();
+            plugin.initForApp(this);
+            plugin.importState(old.exportState());
+            old.shutdown();
+            plugins.set(i, plugin);
+            replaced++;
+        }
+        if (replaced > 0) {
+            tasksDirty = true;
+        }
+        return replaced;
+    }
+
     /**
 	 * Initialize scene.
 	 */
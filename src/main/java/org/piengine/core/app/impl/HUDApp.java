@@ -109,6 +109,6 @@ public class HUDApp extends AbstractApp {
     @Override
     protected void cleanupScene() {
         // Release HUD resources
-        scene.getNodes().clear();
+        scene.clear();
     }
 }
\ No newline at end of file
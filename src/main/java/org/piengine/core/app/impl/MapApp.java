@@ -109,6 +109,6 @@ public class MapApp extends AbstractApp {
     @Override
     protected void cleanupScene() {
         // Release map resources
-        scene.getNodes().clear();
+        scene.clear();
     }
 }
\ No newline at end of file
@@ -113,6 +113,6 @@ public class WorldApp extends AbstractApp {
     @Override
     protected void cleanupScene() {
         // Release world resources
-        scene.getNodes().clear();
+        scene.clear();
     }
 }
\ No newline at end of file
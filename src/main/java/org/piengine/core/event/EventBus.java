@@ -0,0 +1,154 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.event;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Engine-wide registry of named {@link EventChannel event channels} for
+ * messages between apps and plugins that should not go through the scene
+ * lock, e.g. score updates from a world app to a HUD app.
+ * <p>
+ * Producers publish into a channel's pre-allocated ring from any thread
+ * without locking or allocating. The engine {@link #dispatch() dispatches}
+ * every channel once per frame on its loop thread, before the frame's
+ * simulation steps, delivering each event to the channel's subscribers.
+ * </p>
+ */
+public final class EventBus {
+
+    /** The default channel capacity. */
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+
+    /** No channels. */
+    private static final EventChannel<?>[] NONE = new EventChannel<?>[0];
+
+    /** The channels by name. */
+    private final ConcurrentMap<String, EventChannel<?>> channels = new ConcurrentHashMap<>();
+
+    /**
+	 * The channels in registration order, an array replaced on every register
+	 * and unregister so dispatch iterates it without allocating.
+	 */
+    private volatile EventChannel<?>[] dispatchOrder = NONE;
+
+    /**
+	 * Registers a channel with the {@link #DEFAULT_CAPACITY}, or returns the
+	 * one already registered under the name.
+	 *
+	 * @param <E>          the event type
+	 * @param name         the channel name
+	 * @param factory      creates the event slots up front
+	 * @param producerType the producer type
+	 * @return the channel
+	 */
+    public <E> EventChannel<E> register(String name, Supplier<? extends E> factory, ProducerType producerType) {
+        return register(name, DEFAULT_CAPACITY, factory, producerType);
+    }
+
+    /**
+	 * Registers a channel, or returns the one already registered under the
+	 * name.
+	 *
+	 * @param <E>          the event type
+	 * @param name         the channel name
+	 * @param capacity     the ring capacity, a power of two
+	 * @param factory      creates the event slots up front
+	 * @param producerType the producer type
+	 * @return the channel
+	 */
+    @SuppressWarnings("unchecked")
+    public <E> EventChannel<E> register(String name, int capacity, Supplier<? extends E> factory,
+            ProducerType producerType) {
+        EventChannel<?> channel = channels.get(name);
+        if (channel != null) {
+            return (EventChannel<E>) channel;
+        }
+        synchronized (this) {
+            channel = channels.get(name);
+            if (channel == null) {
+                channel = new EventChannel<E>(name, capacity, factory, producerType);
+                EventChannel<?>[] current = dispatchOrder;
+                EventChannel<?>[] updated = Arrays.copyOf(current, current.length + 1);
+                updated[current.length] = channel;
+                dispatchOrder = updated;
+                channels.put(name, channel);
+            }
+            return (EventChannel<E>) channel;
+        }
+    }
+
+    /**
+	 * Gets a registered channel.
+	 *
+	 * @param <E>  the event type
+	 * @param name the channel name
+	 * @return the channel, or null if not registered
+	 */
+    @SuppressWarnings("unchecked")
+    public <E> EventChannel<E> channel(String name) {
+        return (EventChannel<E>) channels.get(name);
+    }
+
+    /**
+	 * Removes a channel, dropping any undelivered events.
+	 *
+	 * @param name the channel name
+	 */
+    public synchronized void unregister(String name) {
+        EventChannel<?> channel = channels.remove(name);
+        if (channel == null) {
+            return;
+        }
+        EventChannel<?>[] current = dispatchOrder;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == channel) {
+                EventChannel<?>[] updated = new EventChannel<?>[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                dispatchOrder = (updated.length == 0) ? NONE : updated;
+                return;
+            }
+        }
+    }
+
+    /**
+	 * Delivers the events published so far on every channel to its subscribers.
+	 * Called by the engine once per frame; events published meanwhile are
+	 * delivered in the next frame.
+	 *
+	 * @return the number of events delivered
+	 */
+    public int dispatch() {
+        EventChannel<?>[] current = dispatchOrder;
+        int count = 0;
+        for (int i = 0; i < current.length; i++) {
+            count += current[i].dispatch();
+        }
+        return count;
+    }
+}
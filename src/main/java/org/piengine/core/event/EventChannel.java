@@ -0,0 +1,180 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.event;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * A named channel of an {@link EventBus}: an {@link EventRing} producers
+ * publish into from any thread, and the subscribers the engine delivers its
+ * events to once per frame.
+ *
+ * @param <E> the event type
+ */
+public final class EventChannel<E> {
+
+    /** The name. */
+    private final String name;
+
+    /** The ring. */
+    private final EventRing<E> ring;
+
+    /** No subscribers. */
+    private static final EventHandler<?>[] NONE = new EventHandler<?>[0];
+
+    /**
+	 * The subscribers, an array replaced on every subscribe and unsubscribe so
+	 * delivery iterates it without allocating.
+	 */
+    private volatile EventHandler<?>[] subscribers = NONE;
+
+    /** Delivers one event to every subscriber. */
+    private final EventHandler<E> fanOut = this::deliver;
+
+    /**
+	 * Instantiates a new event channel.
+	 *
+	 * @param name         the name
+	 * @param capacity     the ring capacity, a power of two
+	 * @param factory      creates the event slots up front
+	 * @param producerType the producer type
+	 */
+    EventChannel(String name, int capacity, Supplier<? extends E> factory, ProducerType producerType) {
+        this.name = name;
+        this.ring = new EventRing<>(capacity, factory, producerType);
+    }
+
+    /**
+	 * Gets the name.
+	 *
+	 * @return the name
+	 */
+    public String name() {
+        return name;
+    }
+
+    /**
+	 * Gets the ring.
+	 *
+	 * @return the ring
+	 */
+    public EventRing<E> ring() {
+        return ring;
+    }
+
+    /**
+	 * Claims the next sequence, waiting while the channel is full.
+	 *
+	 * @return the claimed sequence
+	 * @see EventRing#next()
+	 */
+    public long next() {
+        return ring.next();
+    }
+
+    /**
+	 * Claims the next sequence if the channel has room.
+	 *
+	 * @return the claimed sequence, or -1 if full
+	 * @see EventRing#tryNext()
+	 */
+    public long tryNext() {
+        return ring.tryNext();
+    }
+
+    /**
+	 * Gets the slot of a claimed sequence.
+	 *
+	 * @param sequence the sequence
+	 * @return the event slot
+	 */
+    public E get(long sequence) {
+        return ring.get(sequence);
+    }
+
+    /**
+	 * Publishes a claimed and filled sequence.
+	 *
+	 * @param sequence the sequence
+	 */
+    public void publish(long sequence) {
+        ring.publish(sequence);
+    }
+
+    /**
+	 * Subscribes a handler. Handlers run on the engine loop thread at the
+	 * frame boundary, while no frame tasks are running.
+	 *
+	 * @param handler the handler
+	 */
+    public synchronized void subscribe(EventHandler<? super E> handler) {
+        EventHandler<?>[] current = subscribers;
+        EventHandler<?>[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = handler;
+        subscribers = updated;
+    }
+
+    /**
+	 * Unsubscribes a handler.
+	 *
+	 * @param handler the handler
+	 */
+    public synchronized void unsubscribe(EventHandler<? super E> handler) {
+        EventHandler<?>[] current = subscribers;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].equals(handler)) {
+                EventHandler<?>[] updated = new EventHandler<?>[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                subscribers = (updated.length == 0) ? NONE : updated;
+                return;
+            }
+        }
+    }
+
+    /**
+	 * Delivers the events published so far to all subscribers.
+	 *
+	 * @return the number of events delivered
+	 */
+    int dispatch() {
+        return ring.drain(fanOut);
+    }
+
+    /**
+	 * Delivers one event to every subscriber.
+	 *
+	 * @param event      the event
+	 * @param sequence   the sequence
+	 * @param endOfBatch the end of batch
+	 */
+    @SuppressWarnings("unchecked")
+    private void deliver(E event, long sequence, boolean endOfBatch) {
+        EventHandler<?>[] handlers = subscribers;
+        for (int i = 0; i < handlers.length; i++) {
+            ((EventHandler<? super E>) handlers[i]).onEvent(event, sequence, endOfBatch);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.event;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, lock-free ring of pre-allocated event slots with a single consumer.
+ * <p>
+ * Producers claim a sequence with {@link #next()} or {@link #tryNext()}, fill
+ * the slot returned by {@link #get(long)} in place and make it visible with
+ * {@link #publish(long)}. The consumer takes every event published so far in
+ * one batch with {@link #drain(EventHandler)}, after which the slots are
+ * reused. Nothing is allocated after construction.
+ * </p>
+ *
+ * <pre>{@code
+ * long seq = ring.next();
+ * ring.get(seq).set(score);
+ * ring.publish(seq);
+ * }</pre>
+ *
+ * @param <E> the event type
+ */
+public final class EventRing<E> {
+
+    /** The busy-wait iterations before a full ring parks the producer. */
+    private static final int SPIN_LIMIT = 1 << 10;
+
+    /** The slots. */
+    private final E[] slots;
+
+    /** The index mask. */
+    private final int mask;
+
+    /** The shift from a sequence to its round around the ring. */
+    private final int shift;
+
+    /** The producer type. */
+    private final ProducerType producerType;
+
+    /** The last claimed sequence. */
+    private final AtomicLong claimed = new AtomicLong(-1);
+
+    /** The last published sequence, single producer only. */
+    private final AtomicLong cursor = new AtomicLong(-1);
+
+    /** The round each slot was last published in, multi producer only. */
+    private final AtomicIntegerArray published;
+
+    /** The last consumed sequence, gating the producers. */
+    private volatile long consumed = -1;
+
+    /**
+	 * Instantiates a new event ring.
+	 *
+	 * @param capacity     the capacity, a power of two
+	 * @param factory      creates the slots up front
+	 * @param producerType the producer type
+	 */
+    @SuppressWarnings("unchecked")
+    public EventRing(int capacity, Supplier<? extends E> factory, ProducerType producerType) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.slots = (E[]) new Object[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = factory.get();
+        }
+        this.mask = capacity - 1;
+        this.shift = Integer.numberOfTrailingZeros(capacity);
+        this.producerType = producerType;
+        if (producerType == ProducerType.MULTI) {
+            this.published = new AtomicIntegerArray(capacity);
+            for (int i = 0; i < capacity; i++) {
+                published.set(i, -1);
+            }
+        } else {
+            this.published = null;
+        }
+    }
+
+    /**
+	 * Claims the next sequence, waiting while the ring is full.
+	 *
+	 * @return the claimed sequence
+	 */
+    public long next() {
+        long sequence = (producerType == ProducerType.MULTI)
+                ? claimed.incrementAndGet()
+                : claimed.get() + 1;
+        long wrapPoint = sequence - slots.length;
+        int spins = 0;
+        while (wrapPoint > consumed) {
+            if (spins < SPIN_LIMIT) {
+                spins++;
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(this, 1_000);
+            }
+        }
+        if (producerType == ProducerType.SINGLE) {
+            claimed.lazySet(sequence);
+        }
+        return sequence;
+    }
+
+    /**
+	 * Claims the next sequence if the ring has room.
+	 *
+	 * @return the claimed sequence, or -1 if the ring is full
+	 */
+    public long tryNext() {
+        long current;
+        long sequence;
+        do {
+            current = claimed.get();
+            sequence = current + 1;
+            if (sequence - slots.length > consumed) {
+                return -1;
+            }
+        } while (!claimed.compareAndSet(current, sequence));
+        return sequence;
+    }
+
+    /**
+	 * Gets the slot of a claimed sequence.
+	 *
+	 * @param sequence the sequence
+	 * @return the event slot
+	 */
+    public E get(long sequence) {
+        return slots[(int) sequence & mask];
+    }
+
+    /**
+	 * Publishes a claimed and filled sequence to the consumer.
+	 *
+	 * @param sequence the sequence
+	 */
+    public void publish(long sequence) {
+        if (producerType == ProducerType.MULTI) {
+            published.set((int) sequence & mask, (int) (sequence >>> shift));
+        } else {
+            cursor.set(sequence);
+        }
+    }
+
+    /**
+	 * Hands every event published so far to the handler in one batch, then
+	 * releases their slots. Single consumer only. A failing handler releases
+	 * the events up to and including the failed one and rethrows.
+	 *
+	 * @param handler the handler
+	 * @return the number of events consumed
+	 */
+    public int drain(EventHandler<? super E> handler) {
+        long first = consumed + 1;
+        long available = available(first);
+        long sequence = first;
+        try {
+            for (; sequence <= available; sequence++) {
+                handler.onEvent(slots[(int) sequence & mask], sequence, sequence == available);
+            }
+            return (int) (available - first + 1);
+        } finally {
+            consumed = Math.min(sequence, available);
+        }
+    }
+
+    /**
+	 * Finds the last contiguously published sequence.
+	 *
+	 * @param first the first unconsumed sequence
+	 * @return the last available sequence, first - 1 if none
+	 */
+    private long available(long first) {
+        if (producerType == ProducerType.SINGLE) {
+            return cursor.get();
+        }
+        long last = claimed.get();
+        long sequence = first;
+        while (sequence <= last && published.get((int) sequence & mask) == (int) (sequence >>> shift)) {
+            sequence++;
+        }
+        return sequence - 1;
+    }
+
+    /**
+	 * Gets the number of events published but not yet consumed.
+	 *
+	 * @return the backlog
+	 */
+    public int backlog() {
+        long first = consumed + 1;
+        return (int) (available(first) - first + 1);
+    }
+
+    /**
+	 * Gets the capacity.
+	 *
+	 * @return the capacity
+	 */
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+	 * Gets the producer type.
+	 *
+	 * @return the producer type
+	 */
+    public ProducerType producerType() {
+        return producerType;
+    }
+}
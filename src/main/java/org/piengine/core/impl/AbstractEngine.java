@@ -23,15 +23,37 @@
  */
 package org.piengine.core.impl;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.StructuredTaskScope;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.piengine.core.EngineLifecycle;
+import org.piengine.core.FrameExecutionMode;
 import org.piengine.core.app.App;
 import org.piengine.core.app.AppStatus;
+import org.piengine.core.app.impl.AbstractApp;
+import org.piengine.core.event.EventBus;
+import org.piengine.core.metrics.FrameMetrics;
+import org.piengine.core.plugin.ExecutionPolicy;
 import org.piengine.core.plugin.Plugin;
+import org.piengine.core.plugin.PluginSchedule;
 
 /**
  * Abstract base class for the engine lifecycle, supporting multiple concurrent apps.
@@ -47,7 +69,77 @@ public abstract class AbstractEngine implements EngineLifecycle {
     protected final List<App> activeApps = new CopyOnWriteArrayList<>();
     
     /** The is running. */
-    protected boolean isRunning;
+    protected volatile boolean isRunning;
+
+    /** The frame clock. */
+    protected final FrameClock clock = new FrameClock();
+
+    /** The is headless. */
+    protected volatile boolean headless;
+
+    /** The thread running the loop, unparked by lifecycle events. */
+    private volatile Thread loopThread;
+
+    /** The idle heartbeat period in nanoseconds, 0 for none. */
+    private volatile long heartbeatNanos;
+
+    /** The was idle. */
+    private boolean wasIdle;
+
+    /** The time heartbeat plugins were last updated. */
+    private long lastHeartbeat;
+
+    /** The frame executor. */
+    protected volatile FrameExecutor frameExecutor = ScopedFrameExecutor.INSTANCE;
+
+    /** The frame metrics. */
+    protected final FrameMetrics metrics = new FrameMetrics();
+
+    /** The frame-budget watchdog. */
+    protected final FrameWatchdog watchdog = new FrameWatchdog(metrics);
+
+    /** The lifecycle commands queued for the next frame boundary. */
+    private final Queue<LifecycleCommand> commands = new ConcurrentLinkedQueue<>();
+
+    /**
+	 * Held by the thread driving frames, for the whole {@link #run()} loop or
+	 * one {@link #step(float)}, and while lifecycle commands are applied, so
+	 * commands never change the apps and plugins under a running frame.
+	 */
+    private final ReentrantLock frameLock = new ReentrantLock();
+
+    /** The event bus, dispatched once per frame. */
+    protected final EventBus eventBus = new EventBus();
+
+    /** The timed event dispatch. */
+    private final Runnable eventDispatch = metrics.timed("engine/events", eventBus::dispatch);
+
+    /** Set when apps or plugins changed and the frame tasks must be rebuilt. */
+    private volatile boolean tasksDirty = true;
+
+    /** The update task graph. */
+    private volatile TaskGraph updateGraph = TaskGraph.EMPTY;
+
+    /** The render task graph. */
+    private volatile TaskGraph renderGraph = TaskGraph.EMPTY;
+
+    /** The idle heartbeat task graph. */
+    private volatile TaskGraph heartbeatGraph = TaskGraph.EMPTY;
+
+    /** The is render pipelined. */
+    private volatile boolean pipelinedRender;
+
+    /** The render thread of the pipelined render, created on first use. */
+    private volatile ExecutorService renderExecutor;
+
+    /** The render still running from the previous frame, or null. */
+    private Future<?> pendingRender;
+
+    /** The delta of the step being simulated. */
+    private float stepDelta;
+
+    /** The alpha of the frame being rendered. */
+    private float renderAlpha;
     
     /** The config loader. */
     protected final ConfigLoader configLoader = new ConfigLoader();
@@ -76,31 +168,478 @@ public abstract class AbstractEngine implements EngineLifecycle {
     }
 
     /**
+     * Runs the fixed-timestep loop until closed. Each frame advances the
+     * {@link #clock} by the measured real time, simulates the whole fixed steps
+     * that fit, renders once with the leftover interpolation alpha and then
+     * parks until the next frame deadline. In headless mode the loop instead
+     * simulates fixed steps back to back without rendering or pacing. While no
+     * app is running, headless or not, the loop parks until {@link #wakeup() woken}, only
+     * updating heartbeat plugins at the idle heartbeat rate. Queued lifecycle
+     * commands are applied between frames. Every frame dispatches the
+     * {@link #eventBus} and every simulation step opens a new deadline on the
+     * {@link #watchdog}. With a
+     * {@link #setPipelinedRender(boolean) pipelined render}, each frame's
+     * render runs on a render thread while the loop simulates the next frame.
+     *
      * @see org.piengine.core.EngineLifecycle#run()
      */
     @Override
     public void run() {
-        isRunning = true;
-        while (isRunning) {
-            try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
-                activeApps.stream()
-                    .filter(app -> app.getStatus() == AppStatus.RUNNING)
-                    .forEach(app -> scope.fork(() -> {
-                        app.update(1.0f / 60.0f); // Assume 60 FPS
-                        return null;
-                    }));
-                plugins.forEach(plugin -> scope.fork(() -> {
-                    plugin.update(1.0f / 60.0f);
-                    return null;
-                }));
-                scope.join().throwIfFailed();
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                isRunning = false;
-            } catch (ExecutionException e) {
-                throw new RuntimeException("Update failed", e);
+        frameLock.lock();
+        try {
+            isRunning = true;
+            loopThread = Thread.currentThread();
+            clock.reset();
+            while (isRunning) {
+                try {
+                    applyCommands();
+                    if (isIdle()) {
+                        idle();
+                        continue;
+                    }
+                    if (wasIdle) {
+                        wasIdle = false;
+                        clock.reset();
+                    }
+                    if (headless) {
+                        stepFrame(clock.stepDelta(), false);
+                        continue;
+                    }
+                    long frameStart = System.nanoTime();
+                    dispatchEvents();
+                    int steps = clock.advance();
+                    for (int i = 0; i < steps && isRunning; i++) {
+                        simulate(clock.stepDelta());
+                    }
+                    endFrame();
+                    long simulated = System.nanoTime();
+                    if (pipelinedRender) {
+                        renderPipelined(clock.alpha());
+                    } else {
+                        render(clock.alpha());
+                    }
+                    long rendered = System.nanoTime();
+                    clock.pace();
+                    metrics.recordFrame(steps, simulated - frameStart, rendered - simulated,
+                            System.nanoTime() - rendered, clock.droppedNanos());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    isRunning = false;
+                } catch (ExecutionException e) {
+                    closeRenderExecutor();
+                    throw new RuntimeException("Update failed", e);
+                }
+            }
+            closeRenderExecutor();
+        } finally {
+            frameLock.unlock();
+        }
+        applyQueuedCommands();
+    }
+
+    /**
+	 * Checks whether no app is running, in which case frames would do no work.
+	 *
+	 * @return true, if idle
+	 */
+    private boolean isIdle() {
+        for (App app : activeApps) {
+            if (app.getStatus() == AppStatus.RUNNING) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+	 * Parks the loop thread for one idle period. Without a heartbeat it parks
+	 * until woken; with one it wakes at the heartbeat deadline and updates
+	 * heartbeat plugins with the real time elapsed since their last update.
+	 *
+	 * @throws InterruptedException the interrupted exception
+	 * @throws ExecutionException   if a heartbeat plugin failed
+	 */
+    private void idle() throws InterruptedException, ExecutionException {
+        long now = System.nanoTime();
+        if (!wasIdle) {
+            wasIdle = true;
+            lastHeartbeat = now;
+        }
+
+        long period = heartbeatNanos;
+        if (period == 0) {
+            LockSupport.park(this);
+        } else {
+            long due = lastHeartbeat + period;
+            if (now - due >= 0) {
+                heartbeat((now - lastHeartbeat) / 1e9f);
+                lastHeartbeat = now;
+                due = now + period;
+            }
+            LockSupport.parkNanos(this, due - now);
+        }
+
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    /**
+	 * Updates the plugins that {@link Plugin#updatesWhileIdle() update while
+	 * idle}.
+	 *
+	 * @param deltaTime the time since their last update
+	 * @throws InterruptedException the interrupted exception
+	 * @throws ExecutionException   if a plugin failed
+	 */
+    private void heartbeat(float deltaTime) throws InterruptedException, ExecutionException {
+        if (tasksDirty) {
+            rebuildFrameTasks();
+        }
+        this.stepDelta = deltaTime;
+        dispatchEvents();
+        heartbeatGraph.execute(frameExecutor);
+    }
+
+    /**
+	 * Delivers the events published since the previous frame, on the loop
+	 * thread while no frame tasks are running.
+	 *
+	 * @throws ExecutionException if an event handler failed
+	 */
+    private void dispatchEvents() throws ExecutionException {
+        try {
+            eventDispatch.run();
+        } catch (RuntimeException e) {
+            throw new ExecutionException(e);
+        }
+    }
+
+    /**
+     * @see org.piengine.core.EngineLifecycle#getEventBus()
+     */
+    @Override
+    public EventBus getEventBus() {
+        return eventBus;
+    }
+
+    /**
+     * @see org.piengine.core.EngineLifecycle#wakeup()
+     */
+    @Override
+    public void wakeup() {
+        Thread thread = loopThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+	 * Sets the rate at which heartbeat plugins are updated while no app is
+	 * running, or 0 to park the loop until woken.
+	 *
+	 * @param hz the heartbeat rate in Hz
+	 */
+    public void setIdleHeartbeatRate(double hz) {
+        if (hz < 0) {
+            throw new IllegalArgumentException("Heartbeat rate must not be negative: " + hz);
+        }
+        this.heartbeatNanos = (hz == 0) ? 0 : (long) (TimeUnit.SECONDS.toNanos(1) / hz);
+        wakeup();
+    }
+
+    /**
+     * @see org.piengine.core.EngineLifecycle#step(float)
+     */
+    @Override
+    public void step(float deltaTime) {
+        frameLock.lock();
+        try {
+            applyCommands();
+            stepFrame(deltaTime, !headless);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Step interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Step failed", e);
+        } finally {
+            frameLock.unlock();
+        }
+        applyQueuedCommands();
+    }
+
+    /**
+     * @see org.piengine.core.EngineLifecycle#runFrames(int)
+     */
+    @Override
+    public void runFrames(int frames) {
+        float deltaTime = clock.stepDelta();
+        for (int i = 0; i < frames; i++) {
+            step(deltaTime);
+        }
+    }
+
+    /**
+	 * Runs a single unpaced frame of exactly one simulation step.
+	 *
+	 * @param deltaTime the step delta
+	 * @param render    whether to run the render pass after the step
+	 * @throws InterruptedException the interrupted exception
+	 * @throws ExecutionException   if an app or plugin failed
+	 */
+    private void stepFrame(float deltaTime, boolean render) throws InterruptedException, ExecutionException {
+        long frameStart = System.nanoTime();
+        dispatchEvents();
+        simulate(deltaTime);
+        endFrame();
+        long simulated = System.nanoTime();
+        if (render) {
+            render(1.0f);
+        }
+        metrics.recordFrame(1, simulated - frameStart, System.nanoTime() - simulated, 0, clock.droppedNanos());
+    }
+
+    /**
+	 * Switches headless mode. A headless engine never renders or paces, and
+	 * skips plugins that {@link Plugin#requiresDisplay() require a display},
+	 * both engine-wide and in apps it starts. Must be set before plugins are
+	 * loaded and apps started.
+	 *
+	 * @param headless true for headless
+	 */
+    public void setHeadless(boolean headless) {
+        this.headless = headless;
+        for (App app : activeApps) {
+            if (app instanceof AbstractApp abstractApp) {
+                abstractApp.setHeadless(headless);
+            }
+        }
+    }
+
+    /**
+	 * Checks if the engine is headless.
+	 *
+	 * @return true, if headless
+	 */
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+	 * Runs one fixed simulation step across all running apps and engine
+	 * plugins.
+	 *
+	 * @param deltaTime the step length in seconds
+	 * @throws InterruptedException the interrupted exception
+	 * @throws ExecutionException   if an app or plugin update failed
+	 */
+    protected void simulate(float deltaTime) throws InterruptedException, ExecutionException {
+        if (tasksDirty) {
+            rebuildFrameTasks();
+        }
+        this.stepDelta = deltaTime;
+        watchdog.startStep(System.nanoTime());
+        updateGraph.execute(frameExecutor);
+    }
+
+    /**
+	 * Ends the simulation of the current frame across all running apps, on the
+	 * loop thread, before the frame is rendered.
+	 */
+    private void endFrame() {
+        for (App app : activeApps) {
+            if (app.getStatus() == AppStatus.RUNNING) {
+                app.endFrame();
+            }
+        }
+    }
+
+    /**
+	 * Renders the current frame across all running apps and engine plugins.
+	 *
+	 * @param alpha the interpolation alpha between the last two simulation steps
+	 * @throws InterruptedException the interrupted exception
+	 * @throws ExecutionException   if an app or plugin render failed
+	 */
+    protected void render(float alpha) throws InterruptedException, ExecutionException {
+        if (tasksDirty) {
+            rebuildFrameTasks();
+        }
+        this.renderAlpha = alpha;
+        renderGraph.execute(frameExecutor);
+    }
+
+    /**
+	 * Starts rendering the frame on the render thread, after waiting for the
+	 * previous frame's render to complete. Failures surface one frame late.
+	 *
+	 * @param alpha the interpolation alpha
+	 * @throws InterruptedException the interrupted exception
+	 * @throws ExecutionException   if the previous render failed
+	 */
+    private void renderPipelined(float alpha) throws InterruptedException, ExecutionException {
+        awaitRender();
+        if (renderExecutor == null) {
+            renderExecutor = Executors.newSingleThreadExecutor(Thread.ofPlatform()
+                .name("pi-render")
+                .daemon()
+                .factory());
+        }
+        pendingRender = renderExecutor.submit(() -> {
+            render(alpha);
+            return null;
+        });
+    }
+
+    /**
+	 * Waits for the pipelined render of the previous frame, if any.
+	 *
+	 * @throws InterruptedException the interrupted exception
+	 * @throws ExecutionException   if the render failed
+	 */
+    private void awaitRender() throws InterruptedException, ExecutionException {
+        Future<?> pending = pendingRender;
+        if (pending != null) {
+            pendingRender = null;
+            pending.get();
+        }
+    }
+
+    /**
+	 * Overlaps the render of each frame with the simulation of the next, by
+	 * rendering on a separate thread. Apps must have their scenes
+	 * {@link org.piengine.core.scene.Scene#setFrameBuffers(int) triple buffered}
+	 * so that render plugins read published frames while the simulation
+	 * writes the live scene.
+	 *
+	 * @param pipelined true to pipeline the render
+	 */
+    public void setPipelinedRender(boolean pipelined) {
+        this.pipelinedRender = pipelined;
+    }
+
+    /**
+	 * Rebuilds the per-frame task graphs after the set of apps or plugins
+	 * changed. Apps are unconstrained, engine plugins are ordered by their
+	 * {@link Plugin#getSchedule() schedules}. Apps and plugins with a lower
+	 * tick rate than the engine skip steps through a {@link TickDivider}, and
+	 * plugin updates are guarded by the frame-budget {@link #watchdog}. Plugins
+	 * run where their {@link Plugin#getExecutionPolicy() execution policy} asks.
+	 * Tasks read the step delta and alpha from fields, so the graphs are reused
+	 * unchanged from frame to frame. Synchronized, as a pipelined render may
+	 * find the graphs dirty at the same time as the simulation.
+	 */
+    private synchronized void rebuildFrameTasks() {
+        if (!tasksDirty) {
+            return;
+        }
+        tasksDirty = false;
+        List<TaskGraph.Node> update = new ArrayList<>();
+        List<TaskGraph.Node> render = new ArrayList<>();
+        List<TaskGraph.Node> heartbeat = new ArrayList<>();
+        for (App app : activeApps) {
+            TickDivider divider = new TickDivider();
+            Runnable appUpdate = metrics.timed("app/" + app.getName() + ".update", () -> app.update(divider.delta()));
+            update.add(new TaskGraph.Node(app.getName(), PluginSchedule.UNCONSTRAINED, () -> {
+                if (app.getStatus() == AppStatus.RUNNING && divider.tick(stepDelta, app.getTickRate())) {
+                    appUpdate.run();
+                }
+            }));
+            render.add(new TaskGraph.Node(app.getName(), PluginSchedule.UNCONSTRAINED,
+                    metrics.timed("app/" + app.getName() + ".render", () -> {
+                        if (app.getStatus() == AppStatus.RUNNING) {
+                            app.render(renderAlpha);
+                        }
+                    })));
+        }
+        for (Plugin plugin : plugins) {
+            TickDivider divider = new TickDivider();
+            Runnable pluginUpdate = watchdog.guard("plugin/" + plugin.getId(), plugin.getOverrunPolicy(),
+                    metrics.timed("plugin/" + plugin.getId() + ".update", () -> plugin.update(divider.delta())),
+                    () -> plugin.updateDegraded(divider.delta()));
+            ExecutionPolicy policy = plugin.getExecutionPolicy();
+            update.add(new TaskGraph.Node(plugin.getId(), plugin.getSchedule(), policy, () -> {
+                if (divider.tick(stepDelta, plugin.getTickRate())) {
+                    pluginUpdate.run();
+                }
+            }));
+            render.add(new TaskGraph.Node(plugin.getId(), plugin.getSchedule(), policy,
+                    metrics.timed("plugin/" + plugin.getId() + ".render", () -> plugin.render(renderAlpha))));
+            if (plugin.updatesWhileIdle()) {
+                heartbeat.add(new TaskGraph.Node(plugin.getId(), plugin.getSchedule(), policy,
+                        metrics.timed("plugin/" + plugin.getId() + ".heartbeat", () -> plugin.update(stepDelta))));
+            }
+        }
+        updateGraph = TaskGraph.build(update);
+        renderGraph = TaskGraph.build(render);
+        heartbeatGraph = TaskGraph.build(heartbeat);
+    }
+
+    /**
+	 * Selects how per-frame app and plugin work is fanned out. Should be set
+	 * before {@link #run()}; started apps are switched over as well.
+	 *
+	 * @param mode the new execution mode
+	 */
+    public void setExecutionMode(FrameExecutionMode mode) {
+        if (frameExecutor.mode() == mode) {
+            return;
+        }
+        FrameExecutor old = frameExecutor;
+        frameExecutor = FrameExecutor.create(mode);
+        for (App app : activeApps) {
+            if (app instanceof AbstractApp abstractApp) {
+                abstractApp.setFrameExecutor(frameExecutor);
             }
         }
+        old.close();
+    }
+
+    /**
+	 * Gets the frame executor.
+	 *
+	 * @return the frame executor
+	 */
+    public FrameExecutor getFrameExecutor() {
+        return frameExecutor;
+    }
+
+    /**
+	 * Sets the fixed simulation tick rate.
+	 *
+	 * @param hz the tick rate in Hz
+	 */
+    public void setTickRate(double hz) {
+        clock.setTickRate(hz);
+    }
+
+    /**
+	 * Sets the target frame rate the loop is paced to, or 0 for unpaced.
+	 *
+	 * @param hz the frame rate in Hz
+	 */
+    public void setFrameRate(double hz) {
+        clock.setFrameRate(hz);
+    }
+
+    /**
+	 * Sets the frame budget plugin updates are held to, or 0 to disable the
+	 * watchdog. Plugins running past it are handled according to their
+	 * {@link Plugin#getOverrunPolicy() overrun policy}.
+	 *
+	 * @param millis the budget in milliseconds
+	 */
+    public void setFrameBudget(double millis) {
+        watchdog.setBudget(millis);
+    }
+
+    /**
+	 * Sets the maximum number of simulation steps caught up in a single frame.
+	 *
+	 * @param steps the max catch up steps
+	 */
+    public void setMaxCatchUpSteps(int steps) {
+        clock.setMaxCatchUpSteps(steps);
     }
 
     /**
@@ -109,6 +648,11 @@ public abstract class AbstractEngine implements EngineLifecycle {
     @Override
     public void close() {
         isRunning = false;
+        wakeup();
+        closeRenderExecutor();
+        for (LifecycleCommand command; (command = commands.poll()) != null;) {
+            command.future.completeExceptionally(new IllegalStateException("Engine closed"));
+        }
         try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
             activeApps.forEach(app -> scope.fork(() -> {
                 app.stop();
@@ -128,6 +672,20 @@ public abstract class AbstractEngine implements EngineLifecycle {
         }
         activeApps.clear();
         plugins.clear();
+        tasksDirty = true;
+        frameExecutor.close();
+    }
+
+    /**
+	 * Stops the render thread of the pipelined render, waiting for its last
+	 * frame.
+	 */
+    private void closeRenderExecutor() {
+        ExecutorService executor = renderExecutor;
+        if (executor != null) {
+            renderExecutor = null;
+            executor.close();
+        }
     }
 
     /**
@@ -135,13 +693,18 @@ public abstract class AbstractEngine implements EngineLifecycle {
      */
     @Override
     public void loadPlugin(Plugin plugin) {
+        if (headless && plugin.requiresDisplay()) {
+            return;
+        }
         try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
             scope.fork(() -> {
                 plugin.init();
                 plugins.add(plugin);
+                tasksDirty = true;
                 return null;
             });
             scope.join().throwIfFailed();
+            wakeup();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new RuntimeException("Plugin load interrupted", e);
@@ -159,6 +722,7 @@ public abstract class AbstractEngine implements EngineLifecycle {
             scope.fork(() -> {
                 plugin.shutdown();
                 plugins.remove(plugin);
+                tasksDirty = true;
                 return null;
             });
             scope.join().throwIfFailed();
@@ -177,14 +741,14 @@ public abstract class AbstractEngine implements EngineLifecycle {
     public void startApp(App app) {
         try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
             scope.fork(() -> {
-                if (app.getStatus() == AppStatus.UNINITIALIZED) {
-                    app.initialize();
-                }
+                prepareApp(app);
                 app.start();
                 activeApps.add(app);
+                tasksDirty = true;
                 return null;
             });
             scope.join().throwIfFailed();
+            wakeup();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new RuntimeException("App start interrupted", e);
@@ -203,6 +767,7 @@ public abstract class AbstractEngine implements EngineLifecycle {
                 app.stop();
                 app.cleanup();
                 activeApps.remove(app);
+                tasksDirty = true;
                 return null;
             });
             scope.join().throwIfFailed();
@@ -244,6 +809,7 @@ public abstract class AbstractEngine implements EngineLifecycle {
                 return null;
             });
             scope.join().throwIfFailed();
+            wakeup();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new RuntimeException("App unpause interrupted", e);
@@ -252,6 +818,345 @@ public abstract class AbstractEngine implements EngineLifecycle {
         }
     }
 
+    /**
+	 * Attaches the engine's executor, metrics, watchdog and event bus to an app
+	 * about to start, and initializes it if needed.
+	 *
+	 * @param app the app
+	 */
+    private void prepareApp(App app) {
+        if (app instanceof AbstractApp abstractApp) {
+            abstractApp.setFrameExecutor(frameExecutor);
+            abstractApp.setMetrics(metrics);
+            abstractApp.setWatchdog(watchdog);
+            abstractApp.setEventBus(eventBus);
+            abstractApp.setHeadless(headless);
+        }
+        if (app.getStatus() == AppStatus.UNINITIALIZED) {
+            app.initialize();
+        }
+    }
+
+    /**
+     * @see org.piengine.core.EngineLifecycle#loadPluginAsync(org.piengine.core.plugin.Plugin)
+     */
+    @Override
+    public CompletableFuture<Void> loadPluginAsync(Plugin plugin) {
+        return submit(LifecycleCommand.Kind.LOAD_PLUGIN, plugin);
+    }
+
+    /**
+     * @see org.piengine.core.EngineLifecycle#unloadPluginAsync(org.piengine.core.plugin.Plugin)
+     */
+    @Override
+    public CompletableFuture<Void> unloadPluginAsync(Plugin plugin) {
+        return submit(LifecycleCommand.Kind.UNLOAD_PLUGIN, plugin);
+    }
+
+    /**
+     * @see org.piengine.core.EngineLifecycle#startAppAsync(org.piengine.core.app.App)
+     */
+    @Override
+    public CompletableFuture<Void> startAppAsync(App app) {
+        return submit(LifecycleCommand.Kind.START_APP, app);
+    }
+
+    /**
+     * @see org.piengine.core.EngineLifecycle#stopAppAsync(org.piengine.core.app.App)
+     */
+    @Override
+    public CompletableFuture<Void> stopAppAsync(App app) {
+        return submit(LifecycleCommand.Kind.STOP_APP, app);
+    }
+
+    /**
+     * @see org.piengine.core.EngineLifecycle#pauseAppAsync(org.piengine.core.app.App)
+     */
+    @Override
+    public CompletableFuture<Void> pauseAppAsync(App app) {
+        return submit(LifecycleCommand.Kind.PAUSE_APP, app);
+    }
+
+    /**
+     * @see org.piengine.core.EngineLifecycle#unpauseAppAsync(org.piengine.core.app.App)
+     */
+    @Override
+    public CompletableFuture<Void> unpauseAppAsync(App app) {
+        return submit(LifecycleCommand.Kind.UNPAUSE_APP, app);
+    }
+
+    /**
+     * @see org.piengine.core.EngineLifecycle#reloadPluginAsync(java.lang.String, java.nio.file.Path[])
+     */
+    @Override
+    public CompletableFuture<Void> reloadPluginAsync(String pluginId, Path... modulePath) {
+        ServiceLoader.Provider<Plugin> provider;
+        try {
+            PluginRegistry registry = PluginLayer.load(modulePath).registry();
+            provider = registry.find(pluginId).orElseThrow(() -> registry.notFound(pluginId));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return submit(new LifecycleCommand(LifecycleCommand.Kind.RELOAD_PLUGIN, pluginId, provider));
+    }
+
+    /**
+	 * Queues a lifecycle command. While the loop runs it is woken to apply the
+	 * command at its next frame boundary, and while a {@link #step(float)} runs
+	 * the command is applied when the step ends. Otherwise the command is
+	 * applied on the calling thread.
+	 *
+	 * @param kind   the kind
+	 * @param target the app or plugin
+	 * @return the future of the command
+	 */
+    private CompletableFuture<Void> submit(LifecycleCommand.Kind kind, Object target) {
+        return submit(new LifecycleCommand(kind, target));
+    }
+
+    /**
+	 * Queues a lifecycle command.
+	 *
+	 * @param command the command
+	 * @return the future of the command
+	 * @see #submit(LifecycleCommand.Kind, Object)
+	 */
+    CompletableFuture<Void> submit(LifecycleCommand command) {
+        commands.add(command);
+        if (isRunning) {
+            wakeup();
+        } else {
+            applyQueuedCommands();
+        }
+        return command.future;
+    }
+
+    /**
+	 * Applies the queued lifecycle commands on the calling thread while no
+	 * frame is running. When a frame holds the {@link #frameLock}, its thread
+	 * applies them instead, at its next frame boundary or when it ends.
+	 */
+    private void applyQueuedCommands() {
+        while (!isRunning && !commands.isEmpty() && frameLock.tryLock()) {
+            try {
+                if (!isRunning) {
+                    applyCommands();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                for (LifecycleCommand command; (command = commands.poll()) != null;) {
+                    command.future.completeExceptionally(e);
+                }
+            } finally {
+                frameLock.unlock();
+            }
+        }
+    }
+
+    /**
+	 * Applies the queued lifecycle commands as one batch. The work of commands
+	 * on different apps and plugins runs concurrently, commands on the same app
+	 * or plugin run in the order they were queued. The app and plugin lists are
+	 * then changed with a single bulk removal and addition each, to the
+	 * membership the batch leaves them in, before the futures complete. An app
+	 * stopped and started again in one batch stays listed once, as does a
+	 * plugin unloaded and loaded again. A failed command completes its future exceptionally
+	 * without affecting the rest of the batch. A pipelined render still running
+	 * is waited for first.
+	 *
+	 * @throws InterruptedException if interrupted while applying the batch
+	 * @throws ExecutionException   if the pipelined render failed
+	 */
+    private void applyCommands() throws InterruptedException, ExecutionException {
+        if (commands.isEmpty()) {
+            return;
+        }
+        awaitRender();
+        List<LifecycleCommand> batch = new ArrayList<>();
+        Map<Object, List<LifecycleCommand>> byTarget = new IdentityHashMap<>();
+        for (LifecycleCommand command; (command = commands.poll()) != null;) {
+            batch.add(command);
+            byTarget.computeIfAbsent(command.target, k -> new ArrayList<>()).add(command);
+        }
+
+        try (var scope = new StructuredTaskScope<Void>()) {
+            for (List<LifecycleCommand> sequence : byTarget.values()) {
+                scope.fork(() -> {
+                    for (LifecycleCommand command : sequence) {
+                        try {
+                            command.succeeded = execute(command);
+                        } catch (Throwable e) {
+                            command.future.completeExceptionally(e);
+                        }
+                    }
+                    return null;
+                });
+            }
+            scope.join();
+        } catch (InterruptedException e) {
+            batch.forEach(command -> command.future.completeExceptionally(e));
+            throw e;
+        }
+
+        Set<App> startedApps = new LinkedHashSet<>();
+        Set<App> stoppedApps = new LinkedHashSet<>();
+        Set<Plugin> loadedPlugins = new LinkedHashSet<>();
+        Set<Plugin> unloadedPlugins = new LinkedHashSet<>();
+        Map<Plugin, Plugin> reloadedPlugins = new IdentityHashMap<>();
+        for (LifecycleCommand command : batch) {
+            if (!command.succeeded) {
+                continue;
+            }
+            switch (command.kind) {
+            case START_APP -> {
+                stoppedApps.remove(command.target);
+                startedApps.add((App) command.target);
+            }
+            case STOP_APP -> {
+                if (!startedApps.remove(command.target)) {
+                    stoppedApps.add((App) command.target);
+                }
+            }
+            case LOAD_PLUGIN -> {
+                unloadedPlugins.remove(command.target);
+                loadedPlugins.add((Plugin) command.target);
+            }
+            case UNLOAD_PLUGIN -> {
+                if (!loadedPlugins.remove(command.target)) {
+                    unloadedPlugins.add((Plugin) command.target);
+                }
+            }
+            case RELOAD_PLUGIN -> {
+                reloadedPlugins.putAll(command.reloaded);
+                unloadedPlugins.addAll(command.dropped);
+            }
+            default -> {
+            }
+            }
+        }
+        if (!reloadedPlugins.isEmpty()) {
+            plugins.replaceAll(plugin -> reloadedPlugins.getOrDefault(plugin, plugin));
+        }
+        startedApps.removeIf(activeApps::contains);
+        stoppedApps.retainAll(activeApps);
+        loadedPlugins.removeIf(plugins::contains);
+        unloadedPlugins.retainAll(plugins);
+        if (!stoppedApps.isEmpty()) {
+            activeApps.removeAll(stoppedApps);
+        }
+        if (!startedApps.isEmpty()) {
+            activeApps.addAll(startedApps);
+        }
+        if (!unloadedPlugins.isEmpty()) {
+            plugins.removeAll(unloadedPlugins);
+        }
+        if (!loadedPlugins.isEmpty()) {
+            plugins.addAll(loadedPlugins);
+        }
+        tasksDirty = true;
+        batch.forEach(command -> command.future.complete(null));
+    }
+
+    /**
+	 * Runs the work of a lifecycle command.
+	 *
+	 * @param command the command
+	 * @return true, if the app or plugin list must change
+	 */
+    private boolean execute(LifecycleCommand command) {
+        switch (command.kind) {
+        case LOAD_PLUGIN -> {
+            Plugin plugin = (Plugin) command.target;
+            if (headless && plugin.requiresDisplay()) {
+                return false;
+            }
+            plugin.init();
+            return true;
+        }
+        case UNLOAD_PLUGIN -> {
+            ((Plugin) command.target).shutdown();
+            return true;
+        }
+        case START_APP -> {
+            App app = (App) command.target;
+            prepareApp(app);
+            app.start();
+            return true;
+        }
+        case STOP_APP -> {
+            App app = (App) command.target;
+            app.stop();
+            app.cleanup();
+            return true;
+        }
+        case PAUSE_APP -> {
+            ((App) command.target).pause();
+            return false;
+        }
+        case UNPAUSE_APP -> {
+            ((App) command.target).unpause();
+            return false;
+        }
+        case RELOAD_PLUGIN -> {
+            return reload(command);
+        }
+        default -> throw new IllegalStateException("Unknown command: " + command.kind);
+        }
+    }
+
+    /**
+	 * Runs the work of a hot reload. Engine-wide instances are created and
+	 * handed their predecessor's state here and swapped into the plugin list
+	 * with the rest of the batch; app plugins are swapped by their apps right
+	 * away. Like a load, a headless engine skips a new build that requires a
+	 * display, so its predecessor is shut down and dropped instead.
+	 *
+	 * @param command the reload command
+	 * @return true, if engine-wide plugins were replaced or dropped
+	 */
+    @SuppressWarnings("unchecked")
+    private boolean reload(LifecycleCommand command) {
+        String id = (String) command.target;
+        ServiceLoader.Provider<Plugin> provider = (ServiceLoader.Provider<Plugin>) command.argument;
+        int replaced = 0;
+        for (Plugin old : plugins) {
+            if (!old.getId().equals(id)) {
+                continue;
+            }
+            Plugin plugin = provider.get();
+            if (headless && plugin.requiresDisplay()) {
+                old.shutdown();
+                command.dropped.add(old);
+                replaced++;
+                continue;
+            }
+            plugin.init();
+            plugin.importState(old.exportState());
+            old.shutdown();
+            command.reloaded.put(old, plugin);
+            replaced++;
+        }
+        for (App app : activeApps) {
+            if (app instanceof AbstractApp abstractApp) {
+                replaced += abstractApp.replacePlugin(id, provider::get);
+            }
+        }
+        if (replaced == 0) {
+            throw new IllegalArgumentException("Plugin not loaded: " + id);
+        }
+        return !command.reloaded.isEmpty() || !command.dropped.isEmpty();
+    }
+
+    /**
+     * @see org.piengine.core.EngineLifecycle#getMetrics()
+     */
+    @Override
+    public FrameMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Initialize core engine components (e.g., renderer, input).
      * Subclasses override to provide specific initialization.
@@ -26,14 +26,13 @@ package org.piengine.core.impl;
 import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
-import java.util.ServiceLoader;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.StructuredTaskScope;
 
 import org.piengine.commons.math.Vector3D.Vector3f;
+import org.piengine.core.FrameExecutionMode;
 import org.piengine.core.app.App;
 import org.piengine.core.app.impl.WorldApp;
-import org.piengine.core.plugin.Plugin;
 import org.piengine.core.scene.Light;
 import org.piengine.core.scene.Scene;
 import org.piengine.core.scene.SceneNode;
@@ -59,14 +58,22 @@ public class ConfigLoader {
         Map<String, Object> config = yaml.load(configStream);
         Map<String, Object> engineConfig = (Map<String, Object>) config.get("engine");
 
+        if (Boolean.TRUE.equals(engineConfig.get("headless"))) {
+            engine.setHeadless(true);
+        }
+
+        Map<String, Object> loop = (Map<String, Object>) engineConfig.get("loop");
+        if (loop != null) {
+            loadLoopConfig(engine, loop);
+        }
+
         List<Map<String, Object>> plugins = (List<Map<String, Object>>) engineConfig.get("plugins");
         if (plugins != null) {
             try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
                 for (Map<String, Object> pluginConfig : plugins) {
                     scope.fork(() -> {
-                        String path = (String) pluginConfig.get("path");
-                        Plugin plugin = loadPlugin(path);
-                        engine.loadPlugin(plugin);
+                        String id = (String) pluginConfig.getOrDefault("id", pluginConfig.get("path"));
+                        engine.loadPlugin(PluginRegistry.system().create(id));
                         return null;
                     });
                 }
@@ -103,6 +110,43 @@ public class ConfigLoader {
         }
     }
 
+    /**
+	 * Load loop config.
+	 *
+	 * @param engine     the engine
+	 * @param loopConfig the loop config
+	 */
+    private void loadLoopConfig(AbstractEngine engine, Map<String, Object> loopConfig) {
+        Number tickRate = (Number) loopConfig.get("tick_rate");
+        if (tickRate != null) {
+            engine.setTickRate(tickRate.doubleValue());
+        }
+        Number frameRate = (Number) loopConfig.get("frame_rate");
+        if (frameRate != null) {
+            engine.setFrameRate(frameRate.doubleValue());
+        }
+        Number maxCatchUpSteps = (Number) loopConfig.get("max_catch_up_steps");
+        if (maxCatchUpSteps != null) {
+            engine.setMaxCatchUpSteps(maxCatchUpSteps.intValue());
+        }
+        Number heartbeatRate = (Number) loopConfig.get("idle_heartbeat_rate");
+        if (heartbeatRate != null) {
+            engine.setIdleHeartbeatRate(heartbeatRate.doubleValue());
+        }
+        Number frameBudget = (Number) loopConfig.get("frame_budget_ms");
+        if (frameBudget != null) {
+            engine.setFrameBudget(frameBudget.doubleValue());
+        }
+        Boolean pipelinedRender = (Boolean) loopConfig.get("pipelined_render");
+        if (pipelinedRender != null) {
+            engine.setPipelinedRender(pipelinedRender);
+        }
+        String executionMode = (String) loopConfig.get("execution_mode");
+        if (executionMode != null) {
+            engine.setExecutionMode(FrameExecutionMode.valueOf(executionMode.toUpperCase()));
+        }
+    }
+
     /**
 	 * Load scene.
 	 *
@@ -111,34 +155,29 @@ public class ConfigLoader {
 	 */
     public Scene loadScene(String scenePath) {
         try (InputStream stream = getClass().getClassLoader().getResourceAsStream(scenePath)) {
-            Map<String, Object> sceneConfig = yaml.load(stream);
-            Scene scene = new Scene("main");
-            Map<String, Object> sceneData = (Map<String, Object>) sceneConfig.get("scene");
-            List<Map<String, Object>> nodes = (List<Map<String, Object>>) sceneData.get("nodes");
-            for (Map<String, Object> node : nodes) {
-                SceneNode sceneNode = createSceneNode(node);
-                scene.addNode(sceneNode);
-            }
-            return scene;
+            return loadScene("main", stream);
         } catch (Exception e) {
             throw new RuntimeException("Failed to load scene: " + scenePath, e);
         }
     }
 
     /**
-	 * Load plugin.
+	 * Load scene from a stream.
 	 *
-	 * @param path the path
-	 * @return the plugin
+	 * @param name   the scene name
+	 * @param stream the stream of .pis YAML
+	 * @return the scene
 	 */
-    private Plugin loadPlugin(String path) {
-        ServiceLoader<Plugin> loader = ServiceLoader.load(Plugin.class);
-        for (Plugin plugin : loader) {
-            if (plugin.getClass().getName().contains(path)) {
-                return plugin;
-            }
+    public Scene loadScene(String name, InputStream stream) {
+        Map<String, Object> sceneConfig = yaml.load(stream);
+        Scene scene = new Scene(name);
+        Map<String, Object> sceneData = (Map<String, Object>) sceneConfig.get("scene");
+        List<Map<String, Object>> nodes = (List<Map<String, Object>>) sceneData.get("nodes");
+        for (Map<String, Object> node : nodes) {
+            SceneNode sceneNode = createSceneNode(node);
+            scene.addNode(sceneNode);
         }
-        throw new RuntimeException("Plugin not found: " + path);
+        return scene;
     }
 
     /**
@@ -150,7 +189,38 @@ public class ConfigLoader {
     private App createApp(Map<String, Object> appConfig) {
         String scenePath = (String) appConfig.get("scene");
         Scene scene = loadScene(scenePath);
-        return new WorldApp(scene);
+        Number sceneBuffers = (Number) appConfig.get("scene_buffers");
+        if (sceneBuffers != null) {
+            scene.setFrameBuffers(sceneBuffers.intValue());
+        }
+        Number transformStore = (Number) appConfig.get("transform_store");
+        if (transformStore != null) {
+            scene.useTransformStore(transformStore.intValue());
+        }
+        Number spatialIndex = (Number) appConfig.get("spatial_index");
+        if (spatialIndex != null) {
+            scene.useSpatialIndex(spatialIndex.floatValue());
+        }
+        Number changeJournal = (Number) appConfig.get("change_journal");
+        if (changeJournal != null) {
+            scene.useChangeJournal(changeJournal.intValue());
+        }
+        if (Boolean.TRUE.equals(appConfig.get("snapshots"))) {
+            scene.useSnapshots();
+        }
+        if (Boolean.TRUE.equals(appConfig.get("instancing"))) {
+            if (sceneBuffers != null) {
+                throw new IllegalArgumentException(
+                        "instancing and scene_buffers cannot be combined: buffered scenes are drawn from their frames");
+            }
+            scene.useInstancing();
+        }
+        WorldApp app = new WorldApp(scene);
+        Number tickRate = (Number) appConfig.get("tick_rate");
+        if (tickRate != null) {
+            app.setTickRate(tickRate.doubleValue());
+        }
+        return app;
     }
 
     /**
@@ -173,6 +243,10 @@ public class ConfigLoader {
             Double intensity = (Double) nodeConfig.get("intensity");
             node.setLight(new Light(Light.Type.POINT, color, intensity));
         }
+        Number bounds = (Number) nodeConfig.get("bounds");
+        if (bounds != null) {
+            node.setBoundsRadius(bounds.floatValue());
+        }
         Map<String, List<Double>> transform = (Map<String, List<Double>>) nodeConfig.get("transform");
         if (transform != null) {
             List<Double> position = transform.get("position");
@@ -0,0 +1,205 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Monotonic frame clock driving the engine's fixed-timestep loop.
+ * Measures real elapsed time with {@link System#nanoTime()}, feeds it into an
+ * accumulator consumed in fixed simulation steps, and paces frames to a
+ * target rate by parking the loop thread.
+ * Not exported, internal to the module.
+ */
+public final class FrameClock {
+
+    /** Default simulation tick rate in Hz. */
+    public static final double DEFAULT_TICK_RATE = 60.0;
+
+    /** Default maximum number of catch-up steps per frame. */
+    public static final int DEFAULT_MAX_CATCH_UP_STEPS = 5;
+
+    /** Time before a frame deadline that is spun instead of parked. */
+    private static final long SPIN_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /** The fixed step length in nanoseconds. */
+    private long stepNanos;
+
+    /** The fixed step length in seconds. */
+    private float stepDelta;
+
+    /** The target frame period in nanoseconds, 0 if unpaced. */
+    private long frameNanos;
+
+    /** The max catch up steps. */
+    private int maxCatchUpSteps = DEFAULT_MAX_CATCH_UP_STEPS;
+
+    /** The timestamp of the last advance. */
+    private long lastNanos;
+
+    /** The unconsumed simulation time. */
+    private long accumulator;
+
+    /** The deadline of the next paced frame. */
+    private long nextFrameNanos;
+
+    /** The total simulation time dropped by the catch-up limit. */
+    private long droppedNanos;
+
+    /**
+	 * Instantiates a new frame clock ticking and pacing at
+	 * {@link #DEFAULT_TICK_RATE}.
+	 */
+    public FrameClock() {
+        setTickRate(DEFAULT_TICK_RATE);
+        setFrameRate(DEFAULT_TICK_RATE);
+    }
+
+    /**
+	 * Sets the fixed simulation tick rate.
+	 *
+	 * @param hz the tick rate in Hz
+	 */
+    public void setTickRate(double hz) {
+        if (hz <= 0) {
+            throw new IllegalArgumentException("Tick rate must be positive: " + hz);
+        }
+        this.stepNanos = (long) (TimeUnit.SECONDS.toNanos(1) / hz);
+        this.stepDelta = (float) (stepNanos / 1e9);
+    }
+
+    /**
+	 * Sets the target frame rate, or 0 to run frames back to back.
+	 *
+	 * @param hz the frame rate in Hz
+	 */
+    public void setFrameRate(double hz) {
+        if (hz < 0) {
+            throw new IllegalArgumentException("Frame rate must not be negative: " + hz);
+        }
+        this.frameNanos = (hz == 0) ? 0 : (long) (TimeUnit.SECONDS.toNanos(1) / hz);
+    }
+
+    /**
+	 * Sets the maximum number of simulation steps run in a single frame. Time
+	 * beyond that is dropped so a slow host degrades to slow motion instead of
+	 * spiraling.
+	 *
+	 * @param steps the max catch up steps
+	 */
+    public void setMaxCatchUpSteps(int steps) {
+        if (steps < 1) {
+            throw new IllegalArgumentException("Max catch-up steps must be at least 1: " + steps);
+        }
+        this.maxCatchUpSteps = steps;
+    }
+
+    /**
+	 * Restarts timing from now, discarding any accumulated time.
+	 */
+    public void reset() {
+        lastNanos = System.nanoTime();
+        nextFrameNanos = lastNanos + frameNanos;
+        accumulator = 0;
+    }
+
+    /**
+	 * Adds the real time elapsed since the previous call to the accumulator and
+	 * consumes it in whole steps.
+	 *
+	 * @return the number of fixed steps to simulate this frame
+	 */
+    public int advance() {
+        long now = System.nanoTime();
+        accumulator += now - lastNanos;
+        lastNanos = now;
+
+        int steps = (int) Math.min(accumulator / stepNanos, maxCatchUpSteps);
+        accumulator -= steps * stepNanos;
+
+        if (accumulator >= stepNanos) {
+            long excess = accumulator - (accumulator % stepNanos);
+            droppedNanos += excess;
+            accumulator -= excess;
+        }
+
+        return steps;
+    }
+
+    /**
+	 * Parks the calling thread until the next frame deadline. Does nothing when
+	 * unpaced or when the frame already overran its deadline.
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+    public void pace() throws InterruptedException {
+        if (frameNanos == 0) {
+            return;
+        }
+
+        long deadline = nextFrameNanos;
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > SPIN_NANOS) {
+            LockSupport.parkNanos(this, remaining - SPIN_NANOS);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        while (deadline - System.nanoTime() > 0) {
+            Thread.onSpinWait();
+        }
+
+        long now = System.nanoTime();
+        nextFrameNanos = (now - deadline > frameNanos) ? now + frameNanos : deadline + frameNanos;
+    }
+
+    /**
+	 * Gets the fixed step length passed to updates.
+	 *
+	 * @return the step delta in seconds
+	 */
+    public float stepDelta() {
+        return stepDelta;
+    }
+
+    /**
+	 * Gets the interpolation factor between the previous and the current
+	 * simulation state.
+	 *
+	 * @return the alpha in the range [0, 1)
+	 */
+    public float alpha() {
+        return (float) accumulator / stepNanos;
+    }
+
+    /**
+	 * Gets the simulation time dropped so far by the catch-up limit.
+	 *
+	 * @return the dropped time in nanoseconds
+	 */
+    public long droppedNanos() {
+        return droppedNanos;
+    }
+}
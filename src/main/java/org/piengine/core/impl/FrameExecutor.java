@@ -0,0 +1,76 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.impl;
+
+import java.util.concurrent.ExecutionException;
+
+import org.piengine.core.FrameExecutionMode;
+
+/**
+ * Executes a frame's fan-out of app and plugin tasks and waits for all of them
+ * to complete. Task arrays are owned by the caller and may be reused from frame
+ * to frame. Implementations must allow nested calls from within a running task.
+ * Not exported, internal to the module.
+ */
+public interface FrameExecutor extends AutoCloseable {
+
+    /**
+	 * Creates an executor for the given mode.
+	 *
+	 * @param mode the mode
+	 * @return the frame executor
+	 */
+    static FrameExecutor create(FrameExecutionMode mode) {
+        return switch (mode) {
+        case STRUCTURED -> ScopedFrameExecutor.INSTANCE;
+        case WORKERS -> new WorkerFrameExecutor(Runtime.getRuntime().availableProcessors() - 1);
+        };
+    }
+
+    /**
+	 * Runs the first {@code count} tasks concurrently and returns once all of
+	 * them completed.
+	 *
+	 * @param tasks the tasks
+	 * @param count the number of tasks to run from the start of the array
+	 * @throws InterruptedException if interrupted while waiting
+	 * @throws ExecutionException   if any of the tasks failed
+	 */
+    void invokeAll(Runnable[] tasks, int count) throws InterruptedException, ExecutionException;
+
+    /**
+	 * Gets the mode.
+	 *
+	 * @return the mode
+	 */
+    FrameExecutionMode mode();
+
+    /**
+	 * Releases any threads held by the executor.
+	 *
+	 * @see java.lang.AutoCloseable#close()
+	 */
+    @Override
+    void close();
+}
@@ -0,0 +1,386 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.piengine.core.metrics.FrameMetrics;
+import org.piengine.core.plugin.OverrunPolicy;
+
+/**
+ * Frame-budget watchdog. The engine loop opens every simulation step with a
+ * deadline a fixed budget ahead; plugin tasks guarded by the watchdog compare
+ * themselves against it and, depending on their {@link OverrunPolicy}, are skipped,
+ * degraded or detached from the frame once they overrun. Overruns are counted
+ * in the {@link FrameMetrics}.
+ * <p>
+ * A plugin is only blamed for an overrun when it started before the deadline
+ * and finished after it, so plugins that merely ran late behind a slow one are
+ * not penalized.
+ * </p>
+ * Not exported, internal to the module.
+ */
+public final class FrameWatchdog {
+
+    /** How long an idle deferred runner thread waits for work before exiting. */
+    private static final long RUNNER_IDLE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+	 * Runs the deferred runs of one guarded task, on a virtual thread reused
+	 * from run to run. The thread exits once idle for a while and is restarted
+	 * on demand, so removed plugins leave no thread behind.
+	 */
+    private static final class DeferredRunner implements Runnable {
+
+        /** The thread name. */
+        private final String name;
+
+        /** The task. */
+        private final Runnable task;
+
+        /** The lock. */
+        private final ReentrantLock lock = new ReentrantLock();
+
+        /** Signalled when a run is requested. */
+        private final Condition requested = lock.newCondition();
+
+        /** The worker thread, or null. Guarded by the lock. */
+        private Thread worker;
+
+        /** Set while a requested run has not started. Guarded by the lock. */
+        private boolean pending;
+
+        /** Cleared while a run is requested or running. */
+        private volatile boolean done = true;
+
+        /** The failure of the last run, or null. */
+        private volatile Throwable failure;
+
+        /** The thread waiting for the run. */
+        private volatile Thread waiter;
+
+        /**
+		 * Instantiates a new deferred runner.
+		 *
+		 * @param name the thread name
+		 * @param task the task
+		 */
+        DeferredRunner(String name, Runnable task) {
+            this.name = name;
+            this.task = task;
+        }
+
+        /**
+		 * Requests a run of the task.
+		 */
+        void start() {
+            lock.lock();
+            try {
+                done = false;
+                pending = true;
+                if (worker == null) {
+                    worker = Thread.ofVirtual().name(name).start(this);
+                } else {
+                    requested.signal();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+		 * Waits for the requested run until a deadline.
+		 *
+		 * @param deadline the deadline, from {@link System#nanoTime()}
+		 * @return true, if the run completed
+		 * @throws InterruptedException if interrupted while waiting
+		 */
+        boolean await(long deadline) throws InterruptedException {
+            waiter = Thread.currentThread();
+            try {
+                while (!done) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    LockSupport.parkNanos(this, remaining);
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException("Interrupted while waiting for deferred plugin");
+                    }
+                }
+                return true;
+            } finally {
+                waiter = null;
+            }
+        }
+
+        /**
+		 * Checks if no run is requested or running.
+		 *
+		 * @return true, if done
+		 */
+        boolean isDone() {
+            return done;
+        }
+
+        /**
+		 * Rethrows, and clears, the failure of the last run.
+		 */
+        void rethrow() {
+            Throwable e = failure;
+            if (e != null) {
+                failure = null;
+                throw new RuntimeException("Deferred plugin failed", e);
+            }
+        }
+
+        /**
+		 * Worker loop.
+		 *
+		 * @see java.lang.Runnable#run()
+		 */
+        @Override
+        public void run() {
+            while (true) {
+                lock.lock();
+                try {
+                    long idle = RUNNER_IDLE_NANOS;
+                    while (!pending) {
+                        if (idle <= 0) {
+                            worker = null;
+                            return;
+                        }
+                        idle = requested.awaitNanos(idle);
+                    }
+                    pending = false;
+                } catch (InterruptedException e) {
+                    worker = null;
+                    return;
+                } finally {
+                    lock.unlock();
+                }
+
+                try {
+                    task.run();
+                } catch (Throwable e) {
+                    failure = e;
+                }
+                done = true;
+                Thread w = waiter;
+                if (w != null) {
+                    LockSupport.unpark(w);
+                }
+            }
+        }
+    }
+
+    /**
+	 * The per-plugin overrun state of a guarded task. Owned by one frame task.
+	 */
+    private final class Guard implements Runnable {
+
+        /** The component name overruns are reported under. */
+        private final String component;
+
+        /** The policy. */
+        private final OverrunPolicy policy;
+
+        /** The task. */
+        private final Runnable task;
+
+        /** The degraded stand-in for the task. */
+        private final Runnable degraded;
+
+        /** Set after an overrun when the next run is skipped. */
+        private boolean skipNext;
+
+        /** The deferred runner, created on the first deferred run. */
+        private DeferredRunner runner;
+
+        /** Set while a deferred run overran and is still going. */
+        private boolean inFlight;
+
+        /**
+		 * Instantiates a new guard.
+		 *
+		 * @param component the component
+		 * @param policy    the policy
+		 * @param task      the task
+		 * @param degraded  the degraded
+		 */
+        Guard(String component, OverrunPolicy policy, Runnable task, Runnable degraded) {
+            this.component = component;
+            this.policy = policy;
+            this.task = task;
+            this.degraded = degraded;
+        }
+
+        /**
+		 * @see java.lang.Runnable#run()
+		 */
+        @Override
+        public void run() {
+            long deadline = FrameWatchdog.this.deadline;
+            if (budgetNanos == 0) {
+                task.run();
+                return;
+            }
+
+            switch (policy) {
+            case WAIT -> runAndCheck(deadline);
+            case SKIP -> {
+                if (skipNext || System.nanoTime() - deadline >= 0) {
+                    skipNext = false;
+                    degraded.run();
+                } else {
+                    skipNext = runAndCheck(deadline);
+                }
+            }
+            case DEFER -> runDeferred(deadline);
+            }
+        }
+
+        /**
+		 * Runs the task on the calling thread and reports an overrun.
+		 *
+		 * @param deadline the step deadline
+		 * @return true, if the task overran
+		 */
+        private boolean runAndCheck(long deadline) {
+            long start = System.nanoTime();
+            task.run();
+            if (start - deadline < 0 && System.nanoTime() - deadline >= 0) {
+                metrics.recordOverrun(component);
+                return true;
+            }
+            return false;
+        }
+
+        /**
+		 * Runs the task on the guard's deferred runner and waits for it until
+		 * the deadline.
+		 *
+		 * @param deadline the step deadline
+		 */
+        private void runDeferred(long deadline) {
+            if (inFlight) {
+                if (!runner.isDone()) {
+                    degraded.run();
+                    return;
+                }
+                inFlight = false;
+                runner.rethrow();
+            }
+
+            long start = System.nanoTime();
+            if (start - deadline >= 0) {
+                degraded.run();
+                return;
+            }
+
+            if (runner == null) {
+                runner = new DeferredRunner("pi-deferred-" + component, task);
+            }
+            runner.start();
+            try {
+                if (!runner.await(deadline)) {
+                    inFlight = true;
+                    metrics.recordOverrun(component);
+                    return;
+                }
+            } catch (InterruptedException e) {
+                inFlight = true;
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Deferred plugin interrupted", e);
+            }
+            runner.rethrow();
+        }
+    }
+
+    /** The metrics overruns are reported to. */
+    private final FrameMetrics metrics;
+
+    /** The frame budget in nanoseconds, 0 if disabled. */
+    private volatile long budgetNanos;
+
+    /** The deadline of the current simulation step. */
+    private volatile long deadline;
+
+    /**
+	 * Instantiates a new frame watchdog, disabled until a budget is set.
+	 *
+	 * @param metrics the metrics overruns are reported to
+	 */
+    public FrameWatchdog(FrameMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+	 * Sets the frame budget, or 0 to disable the watchdog.
+	 *
+	 * @param millis the budget in milliseconds
+	 */
+    public void setBudget(double millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Frame budget must not be negative: " + millis);
+        }
+        this.budgetNanos = (long) (millis * TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    /**
+	 * Gets the frame budget.
+	 *
+	 * @return the budget in nanoseconds, 0 if disabled
+	 */
+    public long budgetNanos() {
+        return budgetNanos;
+    }
+
+    /**
+	 * Opens a simulation step, setting its deadline one budget from the given
+	 * start. Every step of a frame gets its own budget, so catch-up steps are
+	 * not blamed for the time taken by the steps before them.
+	 *
+	 * @param stepStart the step start, from {@link System#nanoTime()}
+	 */
+    public void startStep(long stepStart) {
+        deadline = stepStart + budgetNanos;
+    }
+
+    /**
+	 * Guards a plugin task according to its overrun policy.
+	 *
+	 * @param component the component name overruns are reported under
+	 * @param policy    the overrun policy
+	 * @param task      the task
+	 * @param degraded  the stand-in run while the task is skipped
+	 * @return the guarded task
+	 */
+    public Runnable guard(String component, OverrunPolicy policy, Runnable task, Runnable degraded) {
+        return new Guard(component, policy, task, degraded);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.impl;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.piengine.core.plugin.Plugin;
+
+/**
+ * A lifecycle change of an app or plugin, queued by one of the asynchronous
+ * {@link org.piengine.core.EngineLifecycle} methods and applied with the rest
+ * of its batch at the next frame boundary.
+ * Not exported, internal to the module.
+ */
+final class LifecycleCommand {
+
+    /**
+	 * The kind of change.
+	 */
+    enum Kind {
+
+        /** Loads a plugin. */
+        LOAD_PLUGIN,
+
+        /** Unloads a plugin. */
+        UNLOAD_PLUGIN,
+
+        /** Starts an app. */
+        START_APP,
+
+        /** Stops an app. */
+        STOP_APP,
+
+        /** Pauses an app. */
+        PAUSE_APP,
+
+        /** Unpauses an app. */
+        UNPAUSE_APP,
+
+        /** Swaps a plugin for a build loaded from a new plugin layer. */
+        RELOAD_PLUGIN
+    }
+
+    /** The kind. */
+    final Kind kind;
+
+    /** The app or plugin, or the plugin id of a reload. */
+    final Object target;
+
+    /** The provider of the replacing plugin of a reload, otherwise null. */
+    final Object argument;
+
+    /** The engine-wide plugins a reload replaced, mapped to their replacements. */
+    final Map<Plugin, Plugin> reloaded = new IdentityHashMap<>();
+
+    /** The engine-wide plugins a headless reload dropped, their new build requiring a display. */
+    final List<Plugin> dropped = new ArrayList<>();
+
+    /** Completed once the batch was applied. */
+    final CompletableFuture<Void> future = new CompletableFuture<>();
+
+    /** Set when the command's work completed without failure. */
+    volatile boolean succeeded;
+
+    /**
+	 * Instantiates a new lifecycle command.
+	 *
+	 * @param kind   the kind
+	 * @param target the app or plugin
+	 */
+    LifecycleCommand(Kind kind, Object target) {
+        this(kind, target, null);
+    }
+
+    /**
+	 * Instantiates a new lifecycle command with an argument.
+	 *
+	 * @param kind     the kind
+	 * @param target   the app or plugin
+	 * @param argument the argument
+	 */
+    LifecycleCommand(Kind kind, Object target, Object argument) {
+        this.kind = kind;
+        this.target = target;
+        this.argument = argument;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.impl;
+
+import java.lang.module.Configuration;
+import java.lang.module.ModuleDescriptor;
+import java.lang.module.ModuleFinder;
+import java.lang.module.ModuleReference;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.piengine.core.plugin.Plugin;
+
+/**
+ * Plugin modules loaded from a module path into a module layer of their own,
+ * with a class loader of their own, on top of the layer of the engine. Each
+ * load defines the plugin classes anew, so a newer build of a plugin already
+ * running can be loaded next to it and swapped in, and the old layer is
+ * unloaded once its plugins are no longer referenced.
+ * Not exported, internal to the module.
+ */
+public final class PluginLayer {
+
+    /** The layer. */
+    private final ModuleLayer layer;
+
+    /** The registry of the layer's own providers. */
+    private final PluginRegistry registry;
+
+    /**
+	 * Instantiates a new plugin layer.
+	 *
+	 * @param layer the layer
+	 */
+    private PluginLayer(ModuleLayer layer) {
+        this.layer = layer;
+        this.registry = new PluginRegistry(ServiceLoader.load(layer, Plugin.class).stream()
+            .filter(provider -> provider.type().getModule().getLayer() == layer)
+            .toList());
+    }
+
+    /**
+	 * Resolves the modules found on the module path, together with the service
+	 * providers they bind, into a new layer. Modules on the path take
+	 * precedence over modules of the same name in the engine's layer.
+	 *
+	 * @param modulePath the module path, jars or exploded module directories
+	 * @return the plugin layer
+	 */
+    public static PluginLayer load(Path... modulePath) {
+        ModuleLayer parent = PluginLayer.class.getModule().getLayer();
+        if (parent == null) {
+            parent = ModuleLayer.boot();
+        }
+        ModuleFinder finder = ModuleFinder.of(modulePath);
+        Set<String> roots = finder.findAll().stream()
+            .map(ModuleReference::descriptor)
+            .map(ModuleDescriptor::name)
+            .collect(Collectors.toSet());
+        Configuration configuration = parent.configuration()
+            .resolveAndBind(finder, ModuleFinder.of(), roots);
+        ClassLoader parentLoader = PluginLayer.class.getClassLoader();
+        return new PluginLayer(parent.defineModulesWithOneLoader(configuration, parentLoader));
+    }
+
+    /**
+	 * Finds the provider of a plugin.
+	 *
+	 * @param id the plugin id
+	 * @return the provider
+	 * @see PluginRegistry#find(String)
+	 */
+    public Optional<ServiceLoader.Provider<Plugin>> find(String id) {
+        return registry.find(id);
+    }
+
+    /**
+	 * Gets the registry of the providers declared by the layer's own modules.
+	 *
+	 * @return the plugin registry
+	 */
+    public PluginRegistry registry() {
+        return registry;
+    }
+
+    /**
+	 * Gets the module layer.
+	 *
+	 * @return the layer
+	 */
+    public ModuleLayer layer() {
+        return layer;
+    }
+}
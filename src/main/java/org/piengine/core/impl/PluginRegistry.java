@@ -0,0 +1,156 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.impl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceLoader;
+
+import org.piengine.core.plugin.Plugin;
+import org.piengine.core.plugin.PluginId;
+
+/**
+ * Index of plugin service providers by id, built once from the provider types
+ * without instantiating any of them. Plugins are resolved by their
+ * {@link PluginId declared id}, the fully qualified provider type name or its
+ * simple name when unambiguous, and only the resolved provider is
+ * instantiated. Unknown ids fail fast.
+ * Not exported, internal to the module.
+ */
+public final class PluginRegistry {
+
+    /**
+	 * Lazily built registry of the providers visible to the engine module.
+	 */
+    private static final class Holder {
+
+        /** The registry. */
+        static final PluginRegistry SYSTEM = new PluginRegistry(
+                ServiceLoader.load(Plugin.class).stream().toList());
+    }
+
+    /** The providers. */
+    private final List<ServiceLoader.Provider<Plugin>> providers;
+
+    /** The providers by declared id, type name and unambiguous simple name. */
+    private final Map<String, ServiceLoader.Provider<Plugin>> byName = new HashMap<>();
+
+    /** The ids of the providers, in provider order. */
+    private final List<String> ids;
+
+    /**
+	 * Instantiates a new plugin registry.
+	 *
+	 * @param providers the providers, earlier ones win on duplicate names
+	 */
+    public PluginRegistry(List<ServiceLoader.Provider<Plugin>> providers) {
+        this.providers = providers;
+        this.ids = providers.stream().map(PluginRegistry::idOf).toList();
+        Map<String, Integer> simpleNames = new HashMap<>();
+        for (ServiceLoader.Provider<Plugin> provider : providers) {
+            byName.putIfAbsent(idOf(provider), provider);
+            byName.putIfAbsent(provider.type().getName(), provider);
+            simpleNames.merge(provider.type().getSimpleName(), 1, Integer::sum);
+        }
+        for (ServiceLoader.Provider<Plugin> provider : providers) {
+            String simpleName = provider.type().getSimpleName();
+            if (simpleNames.get(simpleName) == 1) {
+                byName.putIfAbsent(simpleName, provider);
+            }
+        }
+    }
+
+    /**
+	 * Gets the registry of the plugins on the engine's own module or class path.
+	 *
+	 * @return the plugin registry
+	 */
+    public static PluginRegistry system() {
+        return Holder.SYSTEM;
+    }
+
+    /**
+	 * Gets the id of a provider's plugins from its type.
+	 *
+	 * @param provider the provider
+	 * @return the declared id, or the type name
+	 */
+    private static String idOf(ServiceLoader.Provider<Plugin> provider) {
+        PluginId id = provider.type().getAnnotation(PluginId.class);
+        return (id != null) ? id.value() : provider.type().getName();
+    }
+
+    /**
+	 * Finds the provider of a plugin, without instantiating any provider.
+	 *
+	 * @param id the plugin id, type name or unambiguous simple name
+	 * @return the provider
+	 */
+    public Optional<ServiceLoader.Provider<Plugin>> find(String id) {
+        return Optional.ofNullable(byName.get(id));
+    }
+
+    /**
+	 * Creates a new instance of a plugin.
+	 *
+	 * @param id the plugin id, type name or unambiguous simple name
+	 * @return the plugin
+	 * @throws IllegalArgumentException if no provider has the id
+	 */
+    public Plugin create(String id) {
+        return find(id)
+            .orElseThrow(() -> notFound(id))
+            .get();
+    }
+
+    /**
+	 * Creates the exception for an unknown id, listing the known ones.
+	 *
+	 * @param id the id
+	 * @return the exception
+	 */
+    public IllegalArgumentException notFound(String id) {
+        return new IllegalArgumentException("Plugin not found: " + id + ", known plugins: " + ids);
+    }
+
+    /**
+	 * Gets the ids of the providers' plugins.
+	 *
+	 * @return the ids
+	 */
+    public List<String> ids() {
+        return ids;
+    }
+
+    /**
+	 * Gets the providers.
+	 *
+	 * @return the providers
+	 */
+    public List<ServiceLoader.Provider<Plugin>> providers() {
+        return providers;
+    }
+}
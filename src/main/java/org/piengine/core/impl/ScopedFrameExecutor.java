@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.impl;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.StructuredTaskScope;
+
+import org.piengine.core.FrameExecutionMode;
+
+/**
+ * Frame executor opening a new StructuredTaskScope per fan-out and forking each
+ * task onto its own virtual thread.
+ * Not exported, internal to the module.
+ */
+public final class ScopedFrameExecutor implements FrameExecutor {
+
+    /** The shared, stateless instance. */
+    public static final ScopedFrameExecutor INSTANCE = new ScopedFrameExecutor();
+
+    /**
+	 * Instantiates a new scoped frame executor.
+	 */
+    private ScopedFrameExecutor() {
+    }
+
+    /**
+	 * @see org.piengine.core.impl.FrameExecutor#invokeAll(java.lang.Runnable[], int)
+	 */
+    @Override
+    public void invokeAll(Runnable[] tasks, int count) throws InterruptedException, ExecutionException {
+        try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
+            for (int i = 0; i < count; i++) {
+                Runnable task = tasks[i];
+                scope.fork(() -> {
+                    task.run();
+                    return null;
+                });
+            }
+            scope.join().throwIfFailed();
+        }
+    }
+
+    /**
+	 * @see org.piengine.core.impl.FrameExecutor#mode()
+	 */
+    @Override
+    public FrameExecutionMode mode() {
+        return FrameExecutionMode.STRUCTURED;
+    }
+
+    /**
+	 * @see org.piengine.core.impl.FrameExecutor#close()
+	 */
+    @Override
+    public void close() {
+        // Nothing held between fan-outs
+    }
+}
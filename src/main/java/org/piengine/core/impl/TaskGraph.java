@@ -0,0 +1,403 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.StructuredTaskScope;
+
+import org.piengine.core.plugin.ExecutionPolicy;
+import org.piengine.core.plugin.PluginSchedule;
+
+/**
+ * Directed acyclic graph of frame tasks derived from their
+ * {@link PluginSchedule}s, flattened into stages that run one after the other
+ * with the tasks inside a stage running concurrently.
+ * <p>
+ * Edges come from explicit {@code after}/{@code before} ids and from resource
+ * conflicts, which are ordered by registration unless an explicit path already
+ * orders the pair the other way. Each task is placed in the earliest stage
+ * after all of its predecessors.
+ * </p>
+ * <p>
+ * Within a stage, tasks are split by {@link ExecutionPolicy}: CPU bound tasks
+ * go to the {@link CpuPool}, I/O bound tasks each get a virtual thread, default
+ * tasks fan out on the frame executor and inline tasks run on the calling
+ * thread, all concurrently.
+ * </p>
+ * Not exported, internal to the module.
+ */
+public final class TaskGraph {
+
+    /**
+	 * A task to be scheduled.
+	 *
+	 * @param id       the id referenced by other schedules
+	 * @param schedule the schedule
+	 * @param policy   where the task runs
+	 * @param task     the task
+	 */
+    public record Node(String id, PluginSchedule schedule, ExecutionPolicy policy, Runnable task) {
+
+        /**
+		 * Instantiates a new node running on the frame executor.
+		 *
+		 * @param id       the id
+		 * @param schedule the schedule
+		 * @param task     the task
+		 */
+        public Node(String id, PluginSchedule schedule, Runnable task) {
+            this(id, schedule, ExecutionPolicy.DEFAULT, task);
+        }
+    }
+
+    /**
+	 * A CPU bound task, reused from frame to frame. Keeps its failure instead of
+	 * letting the pool wrap it.
+	 */
+    @SuppressWarnings("serial")
+    private static final class CpuTask extends RecursiveAction {
+
+        /** The task. */
+        final Runnable task;
+
+        /** The failure of the last run, or null. */
+        Throwable failure;
+
+        /**
+		 * Instantiates a new cpu task.
+		 *
+		 * @param task the task
+		 */
+        CpuTask(Runnable task) {
+            this.task = task;
+        }
+
+        /**
+		 * @see java.util.concurrent.RecursiveAction#compute()
+		 */
+        @Override
+        protected void compute() {
+            try {
+                task.run();
+            } catch (Throwable e) {
+                failure = e;
+            }
+        }
+    }
+
+    /**
+	 * A stage of concurrently running tasks, split by execution policy.
+	 */
+    private static final class Stage {
+
+        /** The tasks for the frame executor. */
+        final Runnable[] pooled;
+
+        /** The CPU bound tasks, reinitialized and forked every run. */
+        final CpuTask[] cpuBound;
+
+        /** The I/O bound tasks. */
+        final Runnable[] ioBound;
+
+        /** The inline tasks. */
+        final Runnable[] inline;
+
+        /** Set when all tasks go to the frame executor. */
+        final boolean pooledOnly;
+
+        /**
+		 * Instantiates a new stage.
+		 *
+		 * @param nodes the nodes of the stage
+		 */
+        Stage(List<Node> nodes) {
+            this.pooled = tasks(nodes, ExecutionPolicy.DEFAULT);
+            this.cpuBound = Arrays.stream(tasks(nodes, ExecutionPolicy.CPU_BOUND))
+                .map(CpuTask::new)
+                .toArray(CpuTask[]::new);
+            this.ioBound = tasks(nodes, ExecutionPolicy.IO_BOUND);
+            this.inline = tasks(nodes, ExecutionPolicy.INLINE);
+            this.pooledOnly = pooled.length == nodes.size();
+        }
+
+        /**
+		 * Collects the tasks of one policy.
+		 *
+		 * @param nodes  the nodes
+		 * @param policy the policy
+		 * @return the tasks
+		 */
+        private static Runnable[] tasks(List<Node> nodes, ExecutionPolicy policy) {
+            return nodes.stream()
+                .filter(node -> node.policy() == policy)
+                .map(Node::task)
+                .toArray(Runnable[]::new);
+        }
+
+        /**
+		 * Runs all tasks of the stage and waits for them. The forked tasks are
+		 * joined even when interrupted, the I/O bound ones after being
+		 * cancelled.
+		 *
+		 * @param executor the frame executor
+		 * @throws InterruptedException if interrupted while waiting
+		 * @throws ExecutionException   if any of the tasks failed
+		 */
+        void run(FrameExecutor executor) throws InterruptedException, ExecutionException {
+            if (pooledOnly) {
+                executor.invokeAll(pooled, pooled.length);
+                return;
+            }
+
+            try (var scope = (ioBound.length == 0) ? null : new StructuredTaskScope.ShutdownOnFailure()) {
+                for (CpuTask task : cpuBound) {
+                    task.reinitialize();
+                    task.failure = null;
+                    CpuPool.get().execute(task);
+                }
+                for (Runnable task : ioBound) {
+                    scope.fork(() -> {
+                        task.run();
+                        return null;
+                    });
+                }
+
+                Throwable failure = null;
+                InterruptedException interrupted = null;
+                try {
+                    executor.invokeAll(pooled, pooled.length);
+                    for (Runnable task : inline) {
+                        task.run();
+                    }
+                } catch (InterruptedException e) {
+                    interrupted = e;
+                } catch (ExecutionException e) {
+                    failure = e.getCause();
+                } catch (RuntimeException | Error e) {
+                    failure = e;
+                } finally {
+                    for (CpuTask task : cpuBound) {
+                        task.join();
+                        if (failure == null) {
+                            failure = task.failure;
+                        }
+                    }
+                    if (scope != null) {
+                        if (interrupted != null) {
+                            scope.shutdown();
+                        }
+                        scope.join();
+                        if (failure == null) {
+                            failure = scope.exception().orElse(null);
+                        }
+                    }
+                }
+                if (interrupted != null) {
+                    throw interrupted;
+                }
+                if (failure != null) {
+                    throw new ExecutionException(failure);
+                }
+            }
+        }
+    }
+
+    /** The empty graph. */
+    public static final TaskGraph EMPTY = new TaskGraph(new Stage[0]);
+
+    /** The stages. */
+    private final Stage[] stages;
+
+    /**
+	 * Instantiates a new task graph.
+	 *
+	 * @param stages the stages
+	 */
+    private TaskGraph(Stage[] stages) {
+        this.stages = stages;
+    }
+
+    /**
+	 * Builds the graph for the nodes, given in registration order.
+	 *
+	 * @param nodes the nodes
+	 * @return the task graph
+	 * @throws IllegalStateException if the explicit constraints form a cycle
+	 */
+    public static TaskGraph build(List<Node> nodes) {
+        int n = nodes.size();
+        if (n == 0) {
+            return EMPTY;
+        }
+
+        Map<String, List<Integer>> byId = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            byId.computeIfAbsent(nodes.get(i).id(), k -> new ArrayList<>()).add(i);
+        }
+
+        BitSet[] successors = new BitSet[n];
+        for (int i = 0; i < n; i++) {
+            successors[i] = new BitSet(n);
+        }
+
+        for (int i = 0; i < n; i++) {
+            PluginSchedule schedule = nodes.get(i).schedule();
+            for (String id : schedule.after()) {
+                for (int j : byId.getOrDefault(id, List.of())) {
+                    if (j != i) {
+                        successors[j].set(i);
+                    }
+                }
+            }
+            for (String id : schedule.before()) {
+                for (int j : byId.getOrDefault(id, List.of())) {
+                    if (j != i) {
+                        successors[i].set(j);
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (nodes.get(i).schedule().conflictsWith(nodes.get(j).schedule())
+                        && !reachable(successors, j, i)) {
+                    successors[i].set(j);
+                }
+            }
+        }
+
+        int[] indegree = new int[n];
+        for (BitSet next : successors) {
+            for (int j = next.nextSetBit(0); j >= 0; j = next.nextSetBit(j + 1)) {
+                indegree[j]++;
+            }
+        }
+
+        int[] level = new int[n];
+        int maxLevel = 0;
+        int visited = 0;
+        Deque<Integer> ready = new ArrayDeque<>();
+        for (int i = 0; i < n; i++) {
+            if (indegree[i] == 0) {
+                ready.add(i);
+            }
+        }
+        while (!ready.isEmpty()) {
+            int i = ready.poll();
+            visited++;
+            maxLevel = Math.max(maxLevel, level[i]);
+            BitSet next = successors[i];
+            for (int j = next.nextSetBit(0); j >= 0; j = next.nextSetBit(j + 1)) {
+                level[j] = Math.max(level[j], level[i] + 1);
+                if (--indegree[j] == 0) {
+                    ready.add(j);
+                }
+            }
+        }
+
+        if (visited < n) {
+            List<String> cyclic = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                if (indegree[i] > 0) {
+                    cyclic.add(nodes.get(i).id());
+                }
+            }
+            throw new IllegalStateException("Plugin dependency cycle among " + cyclic);
+        }
+
+        List<List<Node>> grouped = new ArrayList<>();
+        for (int l = 0; l <= maxLevel; l++) {
+            grouped.add(new ArrayList<>());
+        }
+        for (int i = 0; i < n; i++) {
+            grouped.get(level[i]).add(nodes.get(i));
+        }
+
+        Stage[] stages = new Stage[grouped.size()];
+        for (int l = 0; l < stages.length; l++) {
+            stages[l] = new Stage(grouped.get(l));
+        }
+        return new TaskGraph(stages);
+    }
+
+    /**
+	 * Checks whether a path leads from one node to another.
+	 *
+	 * @param successors the successors
+	 * @param from       the from
+	 * @param to         the to
+	 * @return true, if reachable
+	 */
+    private static boolean reachable(BitSet[] successors, int from, int to) {
+        BitSet seen = new BitSet(successors.length);
+        Deque<Integer> pending = new ArrayDeque<>();
+        pending.push(from);
+        while (!pending.isEmpty()) {
+            int i = pending.pop();
+            if (i == to) {
+                return true;
+            }
+            BitSet next = successors[i];
+            for (int j = next.nextSetBit(0); j >= 0; j = next.nextSetBit(j + 1)) {
+                if (!seen.get(j)) {
+                    seen.set(j);
+                    pending.push(j);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+	 * Runs the stages in order, each one fanned out on the executor.
+	 *
+	 * @param executor the executor
+	 * @throws InterruptedException the interrupted exception
+	 * @throws ExecutionException   if a task failed, later stages are skipped
+	 */
+    public void execute(FrameExecutor executor) throws InterruptedException, ExecutionException {
+        for (Stage stage : stages) {
+            stage.run(executor);
+        }
+    }
+
+    /**
+	 * Gets the number of stages.
+	 *
+	 * @return the stage count
+	 */
+    public int stageCount() {
+        return stages.length;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.impl;
+
+/**
+ * Divides the engine's fixed step down to a lower target tick rate for a single
+ * app or plugin. Steps are accumulated until a tick is due; the tick then runs
+ * with the total time elapsed since the previous tick, so deltas always add up
+ * to the real simulated time even when the rate does not divide the step rate
+ * evenly. Each divider is owned by one frame task and is not thread-safe.
+ * Not exported, internal to the module.
+ */
+public final class TickDivider {
+
+    /** The tolerance for float rounding when comparing against the period. */
+    private static final double EPSILON = 1e-4;
+
+    /** The scheduling phase, carried over between ticks. */
+    private double phase;
+
+    /** The time since the last tick. */
+    private float elapsed;
+
+    /** The delta of the last tick. */
+    private float delta;
+
+    /**
+	 * Advances by one engine step.
+	 *
+	 * @param deltaTime the engine step delta
+	 * @param hz        the target tick rate, 0 or less to tick every step
+	 * @return true, if a tick is due, its delta is then available from
+	 *         {@link #delta()}
+	 */
+    public boolean tick(float deltaTime, double hz) {
+        if (hz <= 0) {
+            delta = deltaTime;
+            return true;
+        }
+
+        double period = 1.0 / hz;
+        phase += deltaTime;
+        elapsed += deltaTime;
+        if (phase < period * (1 - EPSILON)) {
+            return false;
+        }
+
+        phase = Math.min(phase - period, period);
+        delta = elapsed;
+        elapsed = 0;
+        return true;
+    }
+
+    /**
+	 * Gets the delta of the last due tick.
+	 *
+	 * @return the delta in seconds
+	 */
+    public float delta() {
+        return delta;
+    }
+}
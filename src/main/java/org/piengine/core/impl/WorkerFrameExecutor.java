@@ -0,0 +1,331 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.impl;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.piengine.core.FrameExecutionMode;
+
+/**
+ * Frame executor backed by a persistent, pre-sized set of platform worker
+ * threads.
+ * <p>
+ * Each fan-out is published as a batch over the caller's task array. Workers
+ * and the calling thread claim task indices from a shared cursor and count down
+ * a completion barrier the caller waits on. Batches are pooled per thread and
+ * nesting depth, so a steady-state frame allocates nothing. Because the caller
+ * always participates in its own batch, nested fan-outs issued from inside a
+ * task cannot deadlock, even when every worker is busy.
+ * </p>
+ * Not exported, internal to the module.
+ */
+public final class WorkerFrameExecutor implements FrameExecutor {
+
+    /**
+	 * A published fan-out. The cursor packs a 16 bit generation, the 24 bit task
+	 * count and the 24 bit next index so a claim is a single CAS that can never
+	 * succeed against a recycled batch.
+	 */
+    private static final class Batch {
+
+        /** The cursor. */
+        final AtomicLong cursor = new AtomicLong();
+
+        /** The tasks not yet completed. */
+        final AtomicInteger pending = new AtomicInteger();
+
+        /** The first failure. */
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        /** The tasks. */
+        Runnable[] tasks;
+
+        /** The thread waiting on the batch. */
+        Thread owner;
+
+        /** The generation. */
+        int generation;
+    }
+
+    /**
+	 * Batches pooled by nesting depth for one calling thread.
+	 */
+    private static final class BatchStack {
+
+        /** The batches. */
+        final Batch[] batches = new Batch[MAX_DEPTH];
+
+        /** The depth. */
+        int depth;
+    }
+
+    /** The max nested fan-outs per thread before falling back to inline. */
+    private static final int MAX_DEPTH = 8;
+
+    /** The busy-wait iterations before parking. */
+    private static final int SPIN_LIMIT = 1 << 10;
+
+    /** The index bits. */
+    private static final int INDEX_BITS = 24;
+
+    /** The index mask. */
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+
+    /** The workers. */
+    private final Thread[] workers;
+
+    /** The published batches. */
+    private final AtomicReferenceArray<Batch> slots;
+
+    /** The per-thread batch stacks. */
+    private final ThreadLocal<BatchStack> stacks = ThreadLocal.withInitial(BatchStack::new);
+
+    /** The is running. */
+    private volatile boolean isRunning = true;
+
+    /**
+	 * Instantiates a new worker frame executor.
+	 *
+	 * @param workerCount the number of worker threads, the calling thread
+	 *                    participates in addition to these
+	 */
+    public WorkerFrameExecutor(int workerCount) {
+        this.workers = new Thread[Math.max(0, workerCount)];
+        this.slots = new AtomicReferenceArray<>(Math.max(16, (workers.length + 1) * 2));
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = Thread.ofPlatform()
+                .name("pi-frame-worker-" + i)
+                .daemon()
+                .start(this::work);
+        }
+    }
+
+    /**
+	 * @see org.piengine.core.impl.FrameExecutor#invokeAll(java.lang.Runnable[], int)
+	 */
+    @Override
+    public void invokeAll(Runnable[] tasks, int count) throws InterruptedException, ExecutionException {
+        if (count > INDEX_MASK) {
+            throw new IllegalArgumentException("Too many tasks: " + count);
+        }
+        BatchStack stack = stacks.get();
+        if (count <= 1 || workers.length == 0 || stack.depth == MAX_DEPTH) {
+            runInline(tasks, count);
+            return;
+        }
+
+        Batch batch = stack.batches[stack.depth];
+        if (batch == null) {
+            batch = stack.batches[stack.depth] = new Batch();
+        }
+        stack.depth++;
+        try {
+            batch.tasks = tasks;
+            batch.owner = Thread.currentThread();
+            batch.failure.set(null);
+            batch.pending.set(count);
+            batch.generation = (batch.generation + 1) & 0xFFFF;
+            batch.cursor.set(((long) batch.generation << (2 * INDEX_BITS)) | ((long) count << INDEX_BITS));
+
+            int slot = publish(batch);
+            if (slot >= 0) {
+                for (Thread worker : workers) {
+                    LockSupport.unpark(worker);
+                }
+            }
+
+            while (runNext(batch)) {
+            }
+            if (slot >= 0) {
+                slots.set(slot, null);
+            }
+
+            await(batch);
+        } finally {
+            batch.tasks = null;
+            stack.depth--;
+        }
+
+        Throwable failure = batch.failure.get();
+        if (failure != null) {
+            throw new ExecutionException(failure);
+        }
+    }
+
+    /**
+	 * Runs the tasks on the calling thread.
+	 *
+	 * @param tasks the tasks
+	 * @param count the count
+	 * @throws ExecutionException if a task failed
+	 */
+    private void runInline(Runnable[] tasks, int count) throws ExecutionException {
+        for (int i = 0; i < count; i++) {
+            try {
+                tasks[i].run();
+            } catch (Throwable e) {
+                throw new ExecutionException(e);
+            }
+        }
+    }
+
+    /**
+	 * Publishes the batch to the workers.
+	 *
+	 * @param batch the batch
+	 * @return the slot, or -1 if all slots are taken and the caller runs alone
+	 */
+    private int publish(Batch batch) {
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) == null && slots.compareAndSet(i, null, batch)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+	 * Claims and runs the next task of the batch. Once a task failed the
+	 * remaining ones are claimed but skipped.
+	 *
+	 * @param batch the batch
+	 * @return true, if a task was claimed
+	 */
+    private static boolean runNext(Batch batch) {
+        AtomicLong cursor = batch.cursor;
+        long c;
+        int index;
+        do {
+            c = cursor.get();
+            index = (int) (c & INDEX_MASK);
+            if (index >= (int) ((c >>> INDEX_BITS) & INDEX_MASK)) {
+                return false;
+            }
+        } while (!cursor.compareAndSet(c, c + 1));
+
+        try {
+            if (batch.failure.get() == null) {
+                batch.tasks[index].run();
+            }
+        } catch (Throwable e) {
+            batch.failure.compareAndSet(null, e);
+        } finally {
+            if (batch.pending.decrementAndGet() == 0) {
+                LockSupport.unpark(batch.owner);
+            }
+        }
+        return true;
+    }
+
+    /**
+	 * Waits on the batch's completion barrier. Interrupts do not abandon tasks
+	 * still running on workers, they are reported once the batch completed.
+	 *
+	 * @param batch the batch
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+    private static void await(Batch batch) throws InterruptedException {
+        boolean interrupted = false;
+        int spins = 0;
+        while (batch.pending.get() != 0) {
+            if (spins < SPIN_LIMIT) {
+                spins++;
+                Thread.onSpinWait();
+            } else {
+                LockSupport.park(batch);
+                interrupted |= Thread.interrupted();
+            }
+        }
+        if (interrupted) {
+            throw new InterruptedException("Interrupted while joining frame tasks");
+        }
+    }
+
+    /**
+	 * Worker thread loop.
+	 */
+    private void work() {
+        int idle = 0;
+        while (isRunning) {
+            boolean worked = false;
+            for (int i = 0; i < slots.length(); i++) {
+                Batch batch = slots.get(i);
+                if (batch != null) {
+                    while (runNext(batch)) {
+                        worked = true;
+                    }
+                }
+            }
+
+            if (worked) {
+                idle = 0;
+            } else if (++idle < SPIN_LIMIT) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.park(this);
+            }
+        }
+    }
+
+    /**
+	 * Gets the worker count.
+	 *
+	 * @return the worker count
+	 */
+    public int workerCount() {
+        return workers.length;
+    }
+
+    /**
+	 * @see org.piengine.core.impl.FrameExecutor#mode()
+	 */
+    @Override
+    public FrameExecutionMode mode() {
+        return FrameExecutionMode.WORKERS;
+    }
+
+    /**
+	 * @see org.piengine.core.impl.FrameExecutor#close()
+	 */
+    @Override
+    public void close() {
+        isRunning = false;
+        for (Thread worker : workers) {
+            LockSupport.unpark(worker);
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,313 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Frame timing surface of an engine. Keeps latency histograms for whole frames,
+ * for the simulation, render and idle phases of each frame, and for every
+ * named component (app updates, scene updates, plugin updates and scene
+ * processing), together with frame, step and failure counters and the
+ * per-component overruns of the frame budget.
+ * <p>
+ * Histograms are resolved once when the engine builds its frame tasks, so the
+ * per-frame cost of instrumentation is two {@link System#nanoTime()} calls and
+ * a histogram update per component. Recording can be switched off at runtime.
+ * </p>
+ */
+public final class FrameMetrics {
+
+    /** The is enabled. */
+    private volatile boolean enabled = true;
+
+    /** The frame time. */
+    private final LatencyHistogram frameTime = new LatencyHistogram();
+
+    /** The simulation time. */
+    private final LatencyHistogram simulationTime = new LatencyHistogram();
+
+    /** The render time. */
+    private final LatencyHistogram renderTime = new LatencyHistogram();
+
+    /** The idle time. */
+    private final LatencyHistogram idleTime = new LatencyHistogram();
+
+    /** The frames. */
+    private final LongAdder frames = new LongAdder();
+
+    /** The steps. */
+    private final LongAdder steps = new LongAdder();
+
+    /** The failures. */
+    private final LongAdder failures = new LongAdder();
+
+    /** The overruns. */
+    private final LongAdder overruns = new LongAdder();
+
+    /** The dropped nanos. */
+    private volatile long droppedNanos;
+
+    /** The components. */
+    private final ConcurrentMap<String, LatencyHistogram> components = new ConcurrentHashMap<>();
+
+    /** The overruns by component. */
+    private final ConcurrentMap<String, LongAdder> componentOverruns = new ConcurrentHashMap<>();
+
+    /**
+	 * Checks if recording is enabled.
+	 *
+	 * @return true, if enabled
+	 */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+	 * Enables or disables recording.
+	 *
+	 * @param enabled the new enabled
+	 */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+	 * Gets, creating if needed, the histogram of a named component.
+	 *
+	 * @param name the component name
+	 * @return the latency histogram
+	 */
+    public LatencyHistogram component(String name) {
+        return components.computeIfAbsent(name, k -> new LatencyHistogram());
+    }
+
+    /**
+	 * Wraps a task so its run time is recorded under the component name and its
+	 * failures are counted.
+	 *
+	 * @param name the component name
+	 * @param task the task
+	 * @return the timed task
+	 */
+    public Runnable timed(String name, Runnable task) {
+        LatencyHistogram histogram = component(name);
+        return () -> {
+            if (!enabled) {
+                task.run();
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                task.run();
+            } catch (RuntimeException | Error e) {
+                failures.increment();
+                throw e;
+            } finally {
+                histogram.record(System.nanoTime() - start);
+            }
+        };
+    }
+
+    /**
+	 * Records a component running past the frame deadline. Counted even while
+	 * recording is disabled.
+	 *
+	 * @param name the component name
+	 */
+    public void recordOverrun(String name) {
+        overruns.increment();
+        componentOverruns.computeIfAbsent(name, k -> new LongAdder()).increment();
+    }
+
+    /**
+	 * Records the breakdown of one completed frame.
+	 *
+	 * @param stepCount      the number of simulation steps run
+	 * @param simulateNanos  the time spent simulating
+	 * @param renderNanos    the time spent rendering
+	 * @param idleNanos      the time spent pacing to the frame deadline
+	 * @param droppedTotal   the total simulation time dropped so far
+	 */
+    public void recordFrame(int stepCount, long simulateNanos, long renderNanos, long idleNanos, long droppedTotal) {
+        if (!enabled) {
+            return;
+        }
+        frames.increment();
+        steps.add(stepCount);
+        simulationTime.record(simulateNanos);
+        renderTime.record(renderNanos);
+        idleTime.record(idleNanos);
+        frameTime.record(simulateNanos + renderNanos + idleNanos);
+        droppedNanos = droppedTotal;
+    }
+
+    /**
+	 * Gets the whole-frame latency histogram.
+	 *
+	 * @return the frame time
+	 */
+    public LatencyHistogram frameTime() {
+        return frameTime;
+    }
+
+    /**
+	 * Gets the per-frame simulation phase histogram.
+	 *
+	 * @return the simulation time
+	 */
+    public LatencyHistogram simulationTime() {
+        return simulationTime;
+    }
+
+    /**
+	 * Gets the per-frame render phase histogram.
+	 *
+	 * @return the render time
+	 */
+    public LatencyHistogram renderTime() {
+        return renderTime;
+    }
+
+    /**
+	 * Gets the per-frame idle (pacing) histogram.
+	 *
+	 * @return the idle time
+	 */
+    public LatencyHistogram idleTime() {
+        return idleTime;
+    }
+
+    /**
+	 * Gets the number of frames recorded.
+	 *
+	 * @return the frame count
+	 */
+    public long frameCount() {
+        return frames.sum();
+    }
+
+    /**
+	 * Gets the number of simulation steps recorded.
+	 *
+	 * @return the step count
+	 */
+    public long stepCount() {
+        return steps.sum();
+    }
+
+    /**
+	 * Gets the number of failed component runs.
+	 *
+	 * @return the failure count
+	 */
+    public long failureCount() {
+        return failures.sum();
+    }
+
+    /**
+	 * Gets the number of frame budget overruns.
+	 *
+	 * @return the overrun count
+	 */
+    public long overrunCount() {
+        return overruns.sum();
+    }
+
+    /**
+	 * Gets the frame budget overruns of each component that overran.
+	 *
+	 * @return the overrun counts, sorted by component name
+	 */
+    public Map<String, Long> componentOverruns() {
+        Map<String, Long> counts = new TreeMap<>();
+        componentOverruns.forEach((name, count) -> counts.put(name, count.sum()));
+        return counts;
+    }
+
+    /**
+	 * Gets the simulation time dropped by the loop's catch-up limit.
+	 *
+	 * @return the dropped time in nanoseconds
+	 */
+    public long droppedNanos() {
+        return droppedNanos;
+    }
+
+    /**
+	 * Takes a snapshot of all component histograms.
+	 *
+	 * @return the snapshots, sorted by component name
+	 */
+    public Map<String, LatencySnapshot> componentSnapshots() {
+        Map<String, LatencySnapshot> snapshots = new TreeMap<>();
+        components.forEach((name, histogram) -> snapshots.put(name, histogram.snapshot()));
+        return snapshots;
+    }
+
+    /**
+	 * Clears all histograms and counters.
+	 */
+    public void reset() {
+        frameTime.reset();
+        simulationTime.reset();
+        renderTime.reset();
+        idleTime.reset();
+        frames.reset();
+        steps.reset();
+        failures.reset();
+        overruns.reset();
+        componentOverruns.clear();
+        components.values().forEach(LatencyHistogram::reset);
+    }
+
+    /**
+	 * Formats a report of all counters and histograms.
+	 *
+	 * @return the string
+	 * @see java.lang.Object#toString()
+	 */
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder()
+                .append("frames=").append(frameCount())
+                .append(" steps=").append(stepCount())
+                .append(" failures=").append(failureCount())
+                .append(" overruns=").append(overrunCount())
+                .append(" droppedNanos=").append(droppedNanos())
+                .append("\n  frame    ").append(frameTime.snapshot())
+                .append("\n  simulate ").append(simulationTime.snapshot())
+                .append("\n  render   ").append(renderTime.snapshot())
+                .append("\n  idle     ").append(idleTime.snapshot());
+        componentSnapshots().forEach((name, snapshot) -> report
+                .append("\n  ").append(name).append(' ').append(snapshot));
+        componentOverruns().forEach((name, count) -> report
+                .append("\n  ").append(name).append(" overruns=").append(count));
+        return report.toString();
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point-in-time summary of a {@link LatencyHistogram}. All latencies are in
+ * nanoseconds; percentiles are accurate to the histogram's bucket resolution.
+ *
+ * @param count the number of recorded samples
+ * @param mean  the mean latency
+ * @param p50   the median latency
+ * @param p99   the 99th percentile latency
+ * @param max   the maximum latency
+ */
+public record LatencySnapshot(long count, long mean, long p50, long p99, long max) {
+
+    /** The snapshot of a histogram without samples. */
+    public static final LatencySnapshot EMPTY = new LatencySnapshot(0, 0, 0, 0, 0);
+
+    /**
+	 * @see java.lang.Record#toString()
+	 */
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.3fms p50=%.3fms p99=%.3fms max=%.3fms",
+                count, millis(mean), millis(p50), millis(p99), millis(max));
+    }
+
+    /**
+	 * Millis.
+	 *
+	 * @param nanos the nanos
+	 * @return the double
+	 */
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
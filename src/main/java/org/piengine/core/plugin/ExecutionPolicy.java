@@ -0,0 +1,57 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.plugin;
+
+/**
+ * Where the engine runs a plugin's per-frame work.
+ *
+ * @see Plugin#getExecutionPolicy()
+ */
+public enum ExecutionPolicy {
+
+    /**
+	 * On the engine's frame executor, as selected by its
+	 * {@link org.piengine.core.FrameExecutionMode}.
+	 */
+    DEFAULT,
+
+    /**
+	 * On a platform thread pool sized to the available processors, for
+	 * computation that would pin virtual thread carriers, such as physics or
+	 * culling.
+	 */
+    CPU_BOUND,
+
+    /**
+	 * On a virtual thread of its own, for work that blocks on I/O, such as
+	 * streaming or networking.
+	 */
+    IO_BOUND,
+
+    /**
+	 * On the thread running the frame stage, without any hand-off, for work too
+	 * small to be worth scheduling or bound to the loop thread.
+	 */
+    INLINE
+}
@@ -0,0 +1,56 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.plugin;
+
+/**
+ * What the engine's frame-budget watchdog does with a plugin whose update runs
+ * past the frame deadline.
+ *
+ * @see Plugin#getOverrunPolicy()
+ * @see Plugin#updateDegraded(float)
+ */
+public enum OverrunPolicy {
+
+    /**
+	 * The frame waits for the plugin. Overruns are only reported.
+	 */
+    WAIT,
+
+    /**
+	 * The frame waits for the plugin, but its next update is skipped and
+	 * replaced by its {@link Plugin#updateDegraded(float) degraded update}.
+	 * The plugin is also degraded while the frame is already past its deadline.
+	 */
+    SKIP,
+
+    /**
+	 * The plugin runs on its own virtual thread and the frame waits for it only
+	 * until the frame deadline. A run that is still going when the deadline
+	 * passes is left to finish in the background, and until it does the
+	 * plugin's updates are replaced by its degraded update. The plugin must
+	 * therefore guard any scene access of its own, as a deferred run overlaps
+	 * later frames.
+	 */
+    DEFER
+}
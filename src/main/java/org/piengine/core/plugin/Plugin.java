@@ -30,6 +30,92 @@ import org.piengine.core.scene.Scene;
  * Interface for plugins, supporting engine-wide and app-specific functionality.
  */
 public interface Plugin {
+
+    /**
+	 * Gets the id other plugins refer to in their {@link PluginSchedule}, and
+	 * that the plugin is configured and reloaded by. Plugins with another id
+	 * declare it with {@link PluginId}, as overriding this method hides the id
+	 * from provider lookups.
+	 *
+	 * @return the id, by default the {@link PluginId} of the plugin's class, or
+	 *         its class name
+	 */
+    default String getId() {
+        PluginId id = getClass().getAnnotation(PluginId.class);
+        return (id != null) ? id.value() : getClass().getName();
+    }
+
+    /**
+	 * Gets the schedule declaring the plugin's resource access and ordering.
+	 *
+	 * @return the schedule, by default {@link PluginSchedule#UNCONSTRAINED}
+	 */
+    default PluginSchedule getSchedule() {
+        return PluginSchedule.UNCONSTRAINED;
+    }
+
+    /**
+	 * Checks whether the plugin needs a display or GPU, and is therefore
+	 * skipped by a headless engine.
+	 *
+	 * @return true, if a display is required, by default false
+	 */
+    default boolean requiresDisplay() {
+        return false;
+    }
+
+    /**
+	 * Checks whether the plugin keeps being updated at the engine's idle
+	 * heartbeat rate while no app is running.
+	 *
+	 * @return true, to update while idle, by default false
+	 */
+    default boolean updatesWhileIdle() {
+        return false;
+    }
+
+    /**
+	 * Gets the rate the plugin wants to be updated at. Below the engine tick
+	 * rate, steps are skipped and the next update receives the accumulated
+	 * delta.
+	 *
+	 * @return the tick rate in Hz, by default 0 to update with every step of
+	 *         its app or the engine
+	 */
+    default double getTickRate() {
+        return 0;
+    }
+
+    /**
+	 * Gets where the plugin's per-frame update and render run.
+	 *
+	 * @return the execution policy, by default {@link ExecutionPolicy#DEFAULT}
+	 *         to follow the engine's frame execution mode
+	 */
+    default ExecutionPolicy getExecutionPolicy() {
+        return ExecutionPolicy.DEFAULT;
+    }
+
+    /**
+	 * Gets what the frame-budget watchdog does when the plugin's update runs
+	 * past the frame deadline.
+	 *
+	 * @return the overrun policy, by default {@link OverrunPolicy#WAIT}
+	 */
+    default OverrunPolicy getOverrunPolicy() {
+        return OverrunPolicy.WAIT;
+    }
+
+    /**
+	 * Runs a cheaper stand-in for the plugin's update, and for its scene
+	 * processing when added to an app, in steps where the watchdog skips the
+	 * plugin after an overrun.
+	 *
+	 * @param deltaTime the delta time
+	 * @see OverrunPolicy
+	 */
+    default void updateDegraded(float deltaTime) {
+    }
     
     /**
 	 * Inits the.
@@ -61,4 +147,35 @@ public interface Plugin {
 	 * @param scene the scene
 	 */
     void processScene(Scene scene);
+
+    /**
+	 * Exports the state a reloaded build of the plugin takes over. Called on
+	 * the outgoing instance at the frame boundary of a hot reload, before it is
+	 * shut down. The state crosses class loaders, so it should only consist of
+	 * platform types such as maps, lists, strings and arrays.
+	 *
+	 * @return the state, by default null
+	 */
+    default Object exportState() {
+        return null;
+    }
+
+    /**
+	 * Imports the state exported by the instance being replaced in a hot
+	 * reload. Called on the incoming instance after it was initialized.
+	 *
+	 * @param state the state, may be null
+	 * @see #exportState()
+	 */
+    default void importState(Object state) {
+    }
+
+    /**
+	 * Render. Called once per frame after the frame's fixed simulation steps.
+	 *
+	 * @param alpha the interpolation factor in [0, 1) between the previous and
+	 *              the current simulation state
+	 */
+    default void render(float alpha) {
+    }
 }
\ No newline at end of file
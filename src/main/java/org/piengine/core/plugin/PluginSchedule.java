@@ -0,0 +1,144 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.plugin;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Declares the shared resources a plugin reads and writes during a frame and
+ * its explicit ordering against other plugins. The engine derives a task graph
+ * from these declarations: plugins with conflicting access run in registration
+ * order, explicit {@code after}/{@code before} constraints take precedence,
+ * and everything else runs concurrently.
+ *
+ * @param reads  the resources read, such as {@link #SCENE}
+ * @param writes the resources written
+ * @param after  the ids of plugins that must complete before this one starts
+ * @param before the ids of plugins that must not start before this one
+ *               completed
+ */
+public record PluginSchedule(Set<String> reads, Set<String> writes, Set<String> after, Set<String> before) {
+
+    /** The resource naming an app's scene. */
+    public static final String SCENE = "scene";
+
+    /**
+	 * The id of an app's own scene update task, which writes {@link #SCENE} and
+	 * runs ahead of any plugin accessing it.
+	 */
+    public static final String SCENE_UPDATE = "scene-update";
+
+    /** The schedule of a plugin that declares nothing and runs unordered. */
+    public static final PluginSchedule UNCONSTRAINED = new PluginSchedule(Set.of(), Set.of(), Set.of(), Set.of());
+
+    /**
+	 * Instantiates a new plugin schedule.
+	 *
+	 * @param reads  the reads
+	 * @param writes the writes
+	 * @param after  the after
+	 * @param before the before
+	 */
+    public PluginSchedule {
+        reads = Set.copyOf(reads);
+        writes = Set.copyOf(writes);
+        after = Set.copyOf(after);
+        before = Set.copyOf(before);
+    }
+
+    /**
+	 * Returns a copy that additionally reads the given resources.
+	 *
+	 * @param resources the resources
+	 * @return the plugin schedule
+	 */
+    public PluginSchedule withReads(String... resources) {
+        return new PluginSchedule(union(reads, resources), writes, after, before);
+    }
+
+    /**
+	 * Returns a copy that additionally writes the given resources.
+	 *
+	 * @param resources the resources
+	 * @return the plugin schedule
+	 */
+    public PluginSchedule withWrites(String... resources) {
+        return new PluginSchedule(reads, union(writes, resources), after, before);
+    }
+
+    /**
+	 * Returns a copy that additionally runs after the given plugins.
+	 *
+	 * @param pluginIds the plugin ids
+	 * @return the plugin schedule
+	 */
+    public PluginSchedule withAfter(String... pluginIds) {
+        return new PluginSchedule(reads, writes, union(after, pluginIds), before);
+    }
+
+    /**
+	 * Returns a copy that additionally runs before the given plugins.
+	 *
+	 * @param pluginIds the plugin ids
+	 * @return the plugin schedule
+	 */
+    public PluginSchedule withBefore(String... pluginIds) {
+        return new PluginSchedule(reads, writes, after, union(before, pluginIds));
+    }
+
+    /**
+	 * Checks whether running concurrently with the other schedule could race on
+	 * a shared resource.
+	 *
+	 * @param other the other schedule
+	 * @return true, if either one writes a resource the other accesses
+	 */
+    public boolean conflictsWith(PluginSchedule other) {
+        for (String resource : writes) {
+            if (other.reads.contains(resource) || other.writes.contains(resource)) {
+                return true;
+            }
+        }
+        for (String resource : other.writes) {
+            if (reads.contains(resource)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+	 * Union.
+	 *
+	 * @param set    the set
+	 * @param values the values
+	 * @return the union
+	 */
+    private static Set<String> union(Set<String> set, String... values) {
+        Set<String> union = new HashSet<>(set);
+        union.addAll(Set.of(values));
+        return union;
+    }
+}
@@ -23,16 +23,111 @@
  */
 package org.piengine.core.plugin.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.piengine.core.app.App;
 import org.piengine.core.plugin.Plugin;
+import org.piengine.core.plugin.PluginSchedule;
+import org.piengine.core.scene.InstanceBatcher;
+import org.piengine.core.scene.InstanceGroup;
+import org.piengine.core.scene.Light;
 import org.piengine.core.scene.Scene;
+import org.piengine.core.scene.SceneFrame;
 import org.piengine.core.scene.SceneNode;
+import org.piengine.core.scene.SpatialIndex;
 
 /**
- * Example OpenGL rendering plugin.
+ * Example OpenGL rendering plugin. The meshes inside the view frustum are
+ * submitted through a {@link RenderQueue} sorted by layer, material, mesh and
+ * depth, so draws sharing render state are submitted together.
+ * <p>
+ * Visible meshes are collected with a {@link SpatialIndex#frustum(float[],
+ * List) frustum query} when the scene has a spatial index. Without one, and
+ * for buffered scenes, whose published frames carry no index, every mesh node
+ * is tested against the frustum instead. Until a frustum is set, all meshes
+ * are queued. A scene batching instances is drawn per instance group, each
+ * group drawing only its instances inside the frustum.
+ * </p>
  * Not exported, internal to the module.
  */
 public class OpenGLRasterPlugin implements Plugin {
+
+    /** Reads the scene only after the app and simulation plugins wrote it. */
+    private static final PluginSchedule SCHEDULE = PluginSchedule.UNCONSTRAINED
+            .withReads(PluginSchedule.SCENE);
+
+    /** The scene of the app, read from its published frames when buffered. */
+    private volatile Scene scene;
+
+    /** The render queue, filled and drained by whichever thread draws. */
+    private final RenderQueue queue = new RenderQueue();
+
+    /** The viewer position depth is measured from. */
+    private volatile float viewX, viewY, viewZ;
+
+    /** The view frustum planes, or null to queue all meshes. */
+    private volatile float[] frustum;
+
+    /** The nodes inside the frustum, reused by whichever thread draws. */
+    private final List<SceneNode> visible = new ArrayList<>();
+
+    /** The world matrix of the node being queued. */
+    private final float[] world = new float[16];
+
+    /** The packed world matrices of a group's visible instances. */
+    private float[] instances = new float[16 * InstanceGroup.STRIDE];
+
+    /**
+	 * Sets the viewer position that the depth of the queued meshes is measured
+	 * from.
+	 *
+	 * @param x the x
+	 * @param y the y
+	 * @param z the z
+	 */
+    public void setViewPosition(float x, float y, float z) {
+        this.viewX = x;
+        this.viewY = y;
+        this.viewZ = z;
+    }
+
+    /**
+	 * Sets the view frustum that meshes are culled against.
+	 *
+	 * @param planes the frustum planes, 4 floats (a, b, c, d) each with a
+	 *               normalized normal pointing inside, or null to queue all
+	 *               meshes
+	 * @see SpatialIndex#frustum(float[], List)
+	 */
+    public void setFrustum(float[] planes) {
+        if (planes != null && planes.length % 4 != 0) {
+            throw new IllegalArgumentException("Planes must be 4 floats each: " + planes.length);
+        }
+        this.frustum = (planes == null) ? null : planes.clone();
+    }
+
+    /**
+	 * Gets the schedule.
+	 *
+	 * @return the schedule
+	 * @see org.piengine.core.plugin.Plugin#getSchedule()
+	 */
+    @Override
+    public PluginSchedule getSchedule() {
+        return SCHEDULE;
+    }
+
+    /**
+	 * Requires display.
+	 *
+	 * @return true, always
+	 * @see org.piengine.core.plugin.Plugin#requiresDisplay()
+	 */
+    @Override
+    public boolean requiresDisplay() {
+        return true;
+    }
     
     /**
 	 * Inits the.
@@ -74,22 +169,175 @@ public class OpenGLRasterPlugin implements Plugin {
     @Override
     public void initForApp(App app) {
         // Configure rendering for app-specific settings (e.g., viewport)
+        this.scene = app.getScene();
     }
 
     /**
-	 * Process scene.
+	 * Process scene. Visits only the scene's mesh and light nodes, drawing
+	 * meshes per instance group when the scene batches instances. A buffered
+	 * scene is drawn from its published frame in {@link #render(float)}
+	 * instead.
 	 *
 	 * @param scene the scene
 	 * @see org.piengine.core.plugin.Plugin#processScene(org.piengine.core.scene.Scene)
 	 */
     @Override
     public void processScene(Scene scene) {
-        for (SceneNode node : scene.getNodes()) {
-            if (node.getMesh() != null) {
-                // Render mesh with material
-            } else if (node.getLight() != null) {
-                // Apply lighting
+        if (scene.isBuffered()) {
+            return;
+        }
+        InstanceBatcher instancing = scene.instancing();
+        if (instancing != null) {
+            for (InstanceGroup group : instancing.groups()) {
+                drawGroup(group);
+            }
+        } else {
+            queueMeshes(scene);
+        }
+        List<SceneNode> lights = scene.nodesWithLight().nodes();
+        for (int i = 0; i < lights.size(); i++) {
+            applyLight(lights.get(i).getLight());
+        }
+    }
+
+    /**
+	 * Render. Reads the scene's render frame when buffered, without locking,
+	 * while the simulation may already be writing the next one.
+	 *
+	 * @param alpha the interpolation alpha
+	 * @see org.piengine.core.plugin.Plugin#render(float)
+	 */
+    @Override
+    public void render(float alpha) {
+        Scene scene = this.scene;
+        SceneFrame frame = (scene == null) ? null : scene.renderFrame();
+        if (frame != null) {
+            float[] planes = frustum;
+            queue.clear();
+            for (int i = 0; i < frame.size(); i++) {
+                if (frame.mesh(i) != null) {
+                    float x = frame.position(i, 0), y = frame.position(i, 1), z = frame.position(i, 2);
+                    if (planes == null || SpatialIndex.sphereVisible(planes, x, y, z, frame.boundsRadius(i))) {
+                        queue.add(0, frame.material(i), frame.mesh(i), depth(x, y, z), i);
+                    }
+                } else if (frame.light(i) != null) {
+                    applyLight(frame.light(i));
+                }
+            }
+            queue.sort();
+            submit();
+        }
+        // Interpolate transforms by alpha and submit the frame
+    }
+
+    /**
+	 * Draws the instances of a group inside the frustum, packing their world
+	 * matrices for a single instanced draw.
+	 *
+	 * @param group the instance group
+	 */
+    private void drawGroup(InstanceGroup group) {
+        float[] planes = frustum;
+        float[] data = group.instanceData();
+        int count = group.size();
+        if (planes != null) {
+            if (instances.length < count * InstanceGroup.STRIDE) {
+                instances = new float[data.length];
+            }
+            int visibleCount = 0;
+            for (int i = 0; i < group.size(); i++) {
+                int offset = i * InstanceGroup.STRIDE;
+                if (SpatialIndex.sphereVisible(planes, data[offset + 12], data[offset + 13], data[offset + 14],
+                        group.node(i).getBoundsRadius())) {
+                    System.arraycopy(data, offset, instances, visibleCount * InstanceGroup.STRIDE,
+                            InstanceGroup.STRIDE);
+                    visibleCount++;
+                }
+            }
+            data = instances;
+            count = visibleCount;
+        }
+        if (count > 0) {
+            // Bind group.material() and group.mesh(), upload the first count
+            // instances of data and draw them
+        }
+    }
+
+    /**
+	 * Applies a light to the frame's lighting state.
+	 *
+	 * @param light the light
+	 */
+    private void applyLight(Light light) {
+        // Upload the light's parameters
+    }
+
+    /**
+	 * Queues and submits the scene's visible mesh nodes one draw at a time,
+	 * sorted by render state.
+	 *
+	 * @param scene the scene
+	 */
+    private void queueMeshes(Scene scene) {
+        float[] planes = frustum;
+        SpatialIndex index = scene.spatialIndex();
+        List<SceneNode> candidates = scene.nodesWithMesh().nodes();
+        boolean test = planes != null;
+        if (test && index != null) {
+            index.frustum(planes, visible);
+            candidates = visible;
+            test = false;
+        }
+
+        queue.clear();
+        for (int i = 0; i < candidates.size(); i++) {
+            SceneNode node = candidates.get(i);
+            if (node.getMesh() == null) {
+                continue;
+            }
+            node.getWorldMatrix(world);
+            float x = world[12], y = world[13], z = world[14];
+            if (test && !SpatialIndex.sphereVisible(planes, x, y, z, node.getBoundsRadius())) {
+                continue;
+            }
+            queue.add(0, node.getMaterial(), node.getMesh(), depth(x, y, z), i);
+        }
+        queue.sort();
+        submit();
+        visible.clear();
+    }
+
+    /**
+	 * Gets the distance of a position from the viewer.
+	 *
+	 * @param x the x
+	 * @param y the y
+	 * @param z the z
+	 * @return the depth
+	 */
+    private float depth(float x, float y, float z) {
+        float dx = x - viewX, dy = y - viewY, dz = z - viewZ;
+        return (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    /**
+	 * Submits the sorted queue, binding materials and meshes only when they
+	 * change from one draw to the next.
+	 */
+    private void submit() {
+        int material = -1;
+        int mesh = -1;
+        for (int i = 0; i < queue.size(); i++) {
+            long key = queue.key(i);
+            if (RenderQueue.materialOf(key) != material) {
+                material = RenderQueue.materialOf(key);
+                // Bind material
+            }
+            if (RenderQueue.meshOf(key) != mesh) {
+                mesh = RenderQueue.meshOf(key);
+                // Bind mesh
             }
+            // Draw item queue.item(i) with its transform
         }
     }
-}
\ No newline at end of file
+}
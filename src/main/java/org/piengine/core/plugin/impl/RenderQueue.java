@@ -0,0 +1,297 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.plugin.impl;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Per-frame queue of draw items ordered to minimize render state changes.
+ * <p>
+ * Every item gets a 64 bit sort key packing, from the most significant bits
+ * down, its layer (4 bits), material (20 bits), mesh (20 bits) and quantized
+ * depth (20 bits). Materials and meshes are interned to dense ids, which only
+ * order items within one frame: once more than half of an id field is taken,
+ * the names are forgotten on the next {@link #clear()}, so long sessions
+ * cycling through many names never run out of ids. Keys and item indices are kept in
+ * primitive arrays and ordered with a least significant digit radix sort,
+ * skipping the byte passes in which all keys agree, so sorting is linear in
+ * the number of items and allocates nothing once the arrays have grown to the
+ * scene's size. Used by a single render thread.
+ * </p>
+ * Not exported, internal to the module.
+ */
+public final class RenderQueue {
+
+    /** The bits of the depth field. */
+    private static final int DEPTH_BITS = 20;
+
+    /** The bits of the mesh field. */
+    private static final int MESH_BITS = 20;
+
+    /** The bits of the material field. */
+    private static final int MATERIAL_BITS = 20;
+
+    /** The bits of the layer field. */
+    private static final int LAYER_BITS = 4;
+
+    /** The radix bits per sort pass. */
+    private static final int RADIX_BITS = 8;
+
+    /** The buckets per sort pass. */
+    private static final int RADIX = 1 << RADIX_BITS;
+
+    /** The largest id a field can hold. */
+    private static final int MAX_ID = (1 << Math.min(MATERIAL_BITS, MESH_BITS)) - 1;
+
+    /** The number of distinct names interned per field before ids run out. */
+    private final int internLimit;
+
+    /** The interned materials. */
+    private final Map<String, Integer> materials = new HashMap<>();
+
+    /** The interned meshes. */
+    private final Map<String, Integer> meshes = new HashMap<>();
+
+    /** The sort keys. */
+    private long[] keys = new long[256];
+
+    /** The item indices, in key order once sorted. */
+    private int[] items = new int[256];
+
+    /** The sort scratch keys. */
+    private long[] scratchKeys = new long[256];
+
+    /** The sort scratch items. */
+    private int[] scratchItems = new int[256];
+
+    /** The bucket counts. */
+    private final int[] counts = new int[RADIX];
+
+    /** The number of items. */
+    private int size;
+
+    /**
+	 * Instantiates a new render queue.
+	 */
+    public RenderQueue() {
+        this(MAX_ID);
+    }
+
+    /**
+	 * Instantiates a new render queue interning fewer names.
+	 *
+	 * @param internLimit the number of distinct materials, and of meshes,
+	 *                    interned before ids run out
+	 */
+    RenderQueue(int internLimit) {
+        if (internLimit < 1 || internLimit > MAX_ID) {
+            throw new IllegalArgumentException("Intern limit out of range: " + internLimit);
+        }
+        this.internLimit = internLimit;
+    }
+
+    /**
+	 * Empties the queue for the next frame, forgetting the interned names of a
+	 * field more than half full.
+	 */
+    public void clear() {
+        size = 0;
+        if (materials.size() > internLimit / 2) {
+            materials.clear();
+        }
+        if (meshes.size() > internLimit / 2) {
+            meshes.clear();
+        }
+    }
+
+    /**
+	 * Adds an item.
+	 *
+	 * @param layer    the layer, 0 to 15, drawn in ascending order
+	 * @param material the material, or null
+	 * @param mesh     the mesh
+	 * @param depth    the distance to the viewer, nearer items sort first
+	 *                 within the same state
+	 * @param item     the index of the item, such as a node or frame index
+	 */
+    public void add(int layer, String material, String mesh, float depth, int item) {
+        if (size == keys.length) {
+            int capacity = size * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            items = Arrays.copyOf(items, capacity);
+            scratchKeys = new long[capacity];
+            scratchItems = new int[capacity];
+        }
+        keys[size] = pack(layer, intern(materials, material), intern(meshes, mesh), depth);
+        items[size] = item;
+        size++;
+    }
+
+    /**
+	 * Packs a sort key.
+	 *
+	 * @param layer    the layer
+	 * @param material the material id
+	 * @param mesh     the mesh id
+	 * @param depth    the depth
+	 * @return the key
+	 */
+    static long pack(int layer, int material, int mesh, float depth) {
+        if (layer < 0 || layer >= (1 << LAYER_BITS)) {
+            throw new IllegalArgumentException("Layer out of range: " + layer);
+        }
+        return ((long) layer << (MATERIAL_BITS + MESH_BITS + DEPTH_BITS))
+                | ((long) material << (MESH_BITS + DEPTH_BITS))
+                | ((long) mesh << DEPTH_BITS)
+                | quantizeDepth(depth);
+    }
+
+    /**
+	 * Quantizes a depth to the depth field. The bits of a non-negative float
+	 * order like the float itself, so the top bits of the bit pattern keep the
+	 * ordering at a precision relative to the magnitude.
+	 *
+	 * @param depth the depth
+	 * @return the quantized depth
+	 */
+    private static long quantizeDepth(float depth) {
+        if (!(depth > 0)) {
+            return 0;
+        }
+        return Float.floatToRawIntBits(depth) >>> (Float.SIZE - 1 - DEPTH_BITS);
+    }
+
+    /**
+	 * Interns a name to a dense id, 0 for null.
+	 *
+	 * @param ids  the interned ids
+	 * @param name the name
+	 * @return the id
+	 * @throws IllegalStateException if a single frame uses more distinct names
+	 *                               than ids are left
+	 */
+    private int intern(Map<String, Integer> ids, String name) {
+        if (name == null) {
+            return 0;
+        }
+        Integer id = ids.get(name);
+        if (id == null) {
+            if (ids.size() >= internLimit) {
+                throw new IllegalStateException("Too many distinct names to intern: " + name);
+            }
+            id = ids.size() + 1;
+            ids.put(name, id);
+        }
+        return id;
+    }
+
+    /**
+	 * Sorts the items by key, stable for equal keys.
+	 */
+    public void sort() {
+        long[] srcKeys = keys, dstKeys = scratchKeys;
+        int[] srcItems = items, dstItems = scratchItems;
+        for (int shift = 0; shift < Long.SIZE; shift += RADIX_BITS) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < size; i++) {
+                counts[(int) (srcKeys[i] >>> shift) & (RADIX - 1)]++;
+            }
+            if (size == 0 || counts[(int) (srcKeys[0] >>> shift) & (RADIX - 1)] == size) {
+                continue;
+            }
+            for (int b = 0, offset = 0; b < RADIX; b++) {
+                int count = counts[b];
+                counts[b] = offset;
+                offset += count;
+            }
+            for (int i = 0; i < size; i++) {
+                int slot = counts[(int) (srcKeys[i] >>> shift) & (RADIX - 1)]++;
+                dstKeys[slot] = srcKeys[i];
+                dstItems[slot] = srcItems[i];
+            }
+            long[] k = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = k;
+            int[] t = srcItems;
+            srcItems = dstItems;
+            dstItems = t;
+        }
+        keys = srcKeys;
+        items = srcItems;
+        scratchKeys = dstKeys;
+        scratchItems = dstItems;
+    }
+
+    /**
+	 * Gets the number of items.
+	 *
+	 * @return the size
+	 */
+    public int size() {
+        return size;
+    }
+
+    /**
+	 * Gets an item in sorted order.
+	 *
+	 * @param index the position in the queue
+	 * @return the item index
+	 */
+    public int item(int index) {
+        return items[Objects.checkIndex(index, size)];
+    }
+
+    /**
+	 * Gets a sort key in sorted order.
+	 *
+	 * @param index the position in the queue
+	 * @return the key
+	 */
+    public long key(int index) {
+        return keys[Objects.checkIndex(index, size)];
+    }
+
+    /**
+	 * Gets the material id of a key, changes of which require a material bind.
+	 *
+	 * @param key the key
+	 * @return the material id, 0 for none
+	 */
+    public static int materialOf(long key) {
+        return (int) (key >>> (MESH_BITS + DEPTH_BITS)) & ((1 << MATERIAL_BITS) - 1);
+    }
+
+    /**
+	 * Gets the mesh id of a key, changes of which require a mesh bind.
+	 *
+	 * @param key the key
+	 * @return the mesh id
+	 */
+    public static int meshOf(long key) {
+        return (int) (key >>> DEPTH_BITS) & ((1 << MESH_BITS) - 1);
+    }
+}
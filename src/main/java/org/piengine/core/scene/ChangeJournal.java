@@ -0,0 +1,238 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.scene;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded journal of the changes made to the nodes of a {@link Scene}, so
+ * consumers process only what changed instead of every node every frame.
+ * <p>
+ * Every entry records a node, a {@link SceneChange} and the scene version it
+ * was made in. A change of the same kind to the same node is recorded once per
+ * version until the journal is next read, so a consumer re-reads the node's
+ * state when it visits the change, and a consumer reading in the middle of a
+ * step still sees the changes made after its read.
+ * Entries are kept in a ring of primitive stamps and node references
+ * sized at creation. Each consumer reads it incrementally through its own
+ * {@link Cursor}, and a consumer that fell behind by more than the ring holds,
+ * or that read across a {@link Scene#clear()}, is told to resynchronize from
+ * the full node list instead.
+ * </p>
+ * <p>
+ * The journal follows the scene's locking contract: it is written by the
+ * scene's writers and read by its readers.
+ * </p>
+ *
+ * @see Scene#useChangeJournal(int)
+ */
+public final class ChangeJournal {
+
+	/**
+	 * Receives the changes read from the journal.
+	 */
+	@FunctionalInterface
+	public interface ChangeVisitor {
+
+		/**
+		 * Visits one change.
+		 *
+		 * @param node    the node
+		 * @param change  the kind of change
+		 * @param version the scene version the change was made in
+		 */
+		void visit(SceneNode node, SceneChange change, long version);
+	}
+
+	/**
+	 * The read position of one consumer.
+	 */
+	public static final class Cursor {
+
+		/** The sequence of the next entry to read. */
+		private long position;
+
+		/**
+		 * Instantiates a new cursor.
+		 *
+		 * @param position the position
+		 */
+		private Cursor(long position) {
+			this.position = position;
+		}
+
+		/**
+		 * Gets the sequence of the next entry to read.
+		 *
+		 * @return the position
+		 */
+		public long position() {
+			return position;
+		}
+	}
+
+	/** The change kinds, by ordinal. */
+	private static final SceneChange[] CHANGES = SceneChange.values();
+
+	/** The bits of a stamp holding the change kind. */
+	private static final int CHANGE_BITS = 8;
+
+	/** The mask. */
+	private final int mask;
+
+	/** The stamps, the version shifted left of the change ordinal. */
+	private final long[] stamps;
+
+	/** The nodes. */
+	private final SceneNode[] nodes;
+
+	/** The sequence of the next entry written. */
+	private long head;
+
+	/** The oldest sequence still readable. */
+	private long floor;
+
+	/**
+	 * The furthest head any read reached, the start of the changes
+	 * deduplicated. Only ever advanced, as concurrent readers race to set it.
+	 */
+	private final AtomicLong readMark = new AtomicLong();
+
+	/**
+	 * Instantiates a new change journal.
+	 *
+	 * @param capacity the number of entries kept, rounded up to a power of 2
+	 */
+	ChangeJournal(int capacity) {
+		if (capacity < 1 || capacity > (1 << 30)) {
+			throw new IllegalArgumentException("Invalid journal capacity: " + capacity);
+		}
+		int size = Integer.highestOneBit(capacity - 1) << 1;
+		size = Math.max(1, size);
+		this.mask = size - 1;
+		this.stamps = new long[size];
+		this.nodes = new SceneNode[size];
+	}
+
+	/**
+	 * Records a change. Modifications are recorded once per node, kind and
+	 * version between two reads, additions and removals always.
+	 *
+	 * @param node    the node
+	 * @param change  the change
+	 * @param version the current scene version
+	 */
+	void record(SceneNode node, SceneChange change, long version) {
+		int bit = 1 << change.ordinal();
+		long mark = readMark.get();
+		if (change == SceneChange.ADDED || change == SceneChange.REMOVED) {
+			node.journalVersion = version;
+			node.journalMark = mark;
+			node.journalMask = 0;
+		} else if (node.journalVersion == version && node.journalMark == mark) {
+			if ((node.journalMask & bit) != 0) {
+				return;
+			}
+			node.journalMask |= bit;
+		} else {
+			node.journalVersion = version;
+			node.journalMark = mark;
+			node.journalMask = bit;
+		}
+		int index = (int) head & mask;
+		stamps[index] = (version << CHANGE_BITS) | change.ordinal();
+		nodes[index] = node;
+		head++;
+		if (head - floor > stamps.length) {
+			floor = head - stamps.length;
+		}
+	}
+
+	/**
+	 * Drops all entries, making every cursor resynchronize. The head skips a
+	 * sequence, so that even cursors that read everything fall behind the
+	 * floor.
+	 */
+	void invalidate() {
+		Arrays.fill(nodes, null);
+		head++;
+		floor = head;
+	}
+
+	/**
+	 * Creates a cursor that reads the changes made from now on.
+	 *
+	 * @return the cursor
+	 */
+	public Cursor cursor() {
+		return new Cursor(head);
+	}
+
+	/**
+	 * Reads the changes made since the cursor's last read and advances it.
+	 *
+	 * @param cursor  the cursor
+	 * @param visitor the visitor
+	 * @return true, if all changes since the last read were visited, false if
+	 *         some were dropped and the consumer must resynchronize from the
+	 *         scene's nodes, the cursor then skips to the latest change
+	 */
+	public boolean read(Cursor cursor, ChangeVisitor visitor) {
+		long end = head;
+		if (readMark.get() < end) {
+			readMark.accumulateAndGet(end, Math::max);
+		}
+		if (cursor.position < floor) {
+			cursor.position = end;
+			return false;
+		}
+		for (long sequence = cursor.position; sequence < end; sequence++) {
+			int index = (int) sequence & mask;
+			long stamp = stamps[index];
+			visitor.visit(nodes[index], CHANGES[(int) stamp & ((1 << CHANGE_BITS) - 1)], stamp >>> CHANGE_BITS);
+		}
+		cursor.position = end;
+		return true;
+	}
+
+	/**
+	 * Gets the number of changes a cursor has yet to read.
+	 *
+	 * @param cursor the cursor
+	 * @return the backlog, or -1 if the cursor must resynchronize
+	 */
+	public long backlog(Cursor cursor) {
+		return (cursor.position < floor) ? -1 : head - cursor.position;
+	}
+
+	/**
+	 * Gets the number of entries kept.
+	 *
+	 * @return the capacity
+	 */
+	public int capacity() {
+		return stamps.length;
+	}
+}
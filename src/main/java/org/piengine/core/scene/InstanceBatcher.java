@@ -0,0 +1,128 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.scene;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Groups the mesh nodes of a scene by mesh and material into
+ * {@link InstanceGroup}s, updated incrementally as nodes are added, removed
+ * or change mesh or material. Maintained by the scene's writers.
+ *
+ * @see Scene#useInstancing()
+ */
+public final class InstanceBatcher {
+
+	/**
+	 * The key of a group.
+	 *
+	 * @param mesh     the mesh
+	 * @param material the material
+	 */
+	private record Key(String mesh, String material) {}
+
+	/** The groups. */
+	private final Map<Key, InstanceGroup> groups = new HashMap<>();
+
+	/** The read-only view of the groups. */
+	private final Collection<InstanceGroup> view = Collections.unmodifiableCollection(groups.values());
+
+	/**
+	 * Instantiates a new instance batcher.
+	 */
+	InstanceBatcher() {
+	}
+
+	/**
+	 * Moves a node added or changed into the group of its mesh and material.
+	 *
+	 * @param node the node
+	 */
+	void update(SceneNode node) {
+		InstanceGroup current = node.instanceGroup;
+		String mesh = node.getMesh();
+		if (current != null && current.mesh().equals(mesh) && Objects.equals(current.material(), node.getMaterial())) {
+			return;
+		}
+		if (current != null) {
+			remove(node);
+		}
+		if (mesh != null) {
+			groups.computeIfAbsent(new Key(mesh, node.getMaterial()), k -> new InstanceGroup(k.mesh(), k.material()))
+					.add(node);
+		}
+	}
+
+	/**
+	 * Removes a node from its group, dropping the group once empty.
+	 *
+	 * @param node the node
+	 */
+	void remove(SceneNode node) {
+		InstanceGroup group = node.instanceGroup;
+		if (group == null) {
+			return;
+		}
+		group.remove(node);
+		if (group.size() == 0) {
+			groups.remove(new Key(group.mesh(), group.material()));
+		}
+	}
+
+	/**
+	 * Removes all nodes.
+	 */
+	void clear() {
+		for (InstanceGroup group : groups.values()) {
+			while (group.size() > 0) {
+				group.remove(group.node(group.size() - 1));
+			}
+		}
+		groups.clear();
+	}
+
+	/**
+	 * Gets the group of a mesh and material.
+	 *
+	 * @param mesh     the mesh
+	 * @param material the material, or null
+	 * @return the group, or null when no node uses the pair
+	 */
+	public InstanceGroup group(String mesh, String material) {
+		return groups.get(new Key(mesh, material));
+	}
+
+	/**
+	 * Gets the non-empty groups.
+	 *
+	 * @return a read-only live view of the groups
+	 */
+	public Collection<InstanceGroup> groups() {
+		return view;
+	}
+}
@@ -0,0 +1,166 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.scene;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The nodes of a scene sharing one mesh and material, with their world
+ * matrices packed into a single array ready for an instanced draw.
+ * <p>
+ * Instances are appended as nodes join the group and removed by moving the
+ * last instance into the hole, so the packed array stays dense. The world
+ * matrix of an instance is rewritten whenever the scene's world transform
+ * pass recomputes it. Read under the scene's read lock, like the nodes.
+ * </p>
+ *
+ * @see Scene#useInstancing()
+ */
+public final class InstanceGroup {
+
+	/** The floats per instance, one column-major 4x4 matrix. */
+	public static final int STRIDE = 16;
+
+	/** The mesh. */
+	private final String mesh;
+
+	/** The material. */
+	private final String material;
+
+	/** The nodes. */
+	private SceneNode[] nodes = new SceneNode[16];
+
+	/** The packed world matrices. */
+	private float[] instances = new float[16 * STRIDE];
+
+	/** The number of instances. */
+	private int size;
+
+	/**
+	 * Instantiates a new instance group.
+	 *
+	 * @param mesh     the mesh
+	 * @param material the material
+	 */
+	InstanceGroup(String mesh, String material) {
+		this.mesh = mesh;
+		this.material = material;
+	}
+
+	/**
+	 * Adds a node.
+	 *
+	 * @param node the node
+	 */
+	void add(SceneNode node) {
+		if (size == nodes.length) {
+			nodes = Arrays.copyOf(nodes, size * 2);
+			instances = Arrays.copyOf(instances, size * 2 * STRIDE);
+		}
+		nodes[size] = node;
+		node.instanceGroup = this;
+		node.instanceIndex = size;
+		node.getWorldMatrix(instances, size * STRIDE);
+		size++;
+	}
+
+	/**
+	 * Removes a node, moving the last instance into its place.
+	 *
+	 * @param node the node
+	 */
+	void remove(SceneNode node) {
+		int index = node.instanceIndex;
+		int last = --size;
+		if (index != last) {
+			SceneNode moved = nodes[last];
+			nodes[index] = moved;
+			moved.instanceIndex = index;
+			System.arraycopy(instances, last * STRIDE, instances, index * STRIDE, STRIDE);
+		}
+		nodes[last] = null;
+		node.instanceGroup = null;
+		node.instanceIndex = -1;
+	}
+
+	/**
+	 * Rewrites the world matrix of an instance. Called by the world transform
+	 * pass, which writes distinct instances from parallel tasks.
+	 *
+	 * @param index the instance index
+	 * @param world the world matrix
+	 */
+	void write(int index, float[] world) {
+		System.arraycopy(world, 0, instances, index * STRIDE, STRIDE);
+	}
+
+	/**
+	 * Gets the mesh.
+	 *
+	 * @return the mesh
+	 */
+	public String mesh() {
+		return mesh;
+	}
+
+	/**
+	 * Gets the material.
+	 *
+	 * @return the material, or null
+	 */
+	public String material() {
+		return material;
+	}
+
+	/**
+	 * Gets the number of instances.
+	 *
+	 * @return the size
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the node of an instance.
+	 *
+	 * @param index the instance index
+	 * @return the node
+	 */
+	public SceneNode node(int index) {
+		return nodes[Objects.checkIndex(index, size)];
+	}
+
+	/**
+	 * Gets the packed world matrices, {@link #STRIDE} floats per instance. Only
+	 * the first {@code size() * STRIDE} floats are valid. The array is replaced
+	 * when the group grows.
+	 *
+	 * @return the instance data
+	 */
+	public float[] instanceData() {
+		return instances;
+	}
+}
@@ -24,9 +24,14 @@
 package org.piengine.core.scene;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Predicate;
 
 import org.piengine.util.concurrent.locks.Lockable;
 import org.piengine.util.concurrent.locks.UpgradableReadWriteLock;
@@ -36,13 +41,38 @@ import org.piengine.util.concurrent.locks.Locked.LockedSupport;
 /**
  * Represents a scenegraph, loaded from a .pis file. Contains nodes (meshes,
  * lights, cameras).
+ * <p>
+ * A scene can optionally be double or triple buffered. Its app then publishes
+ * an immutable {@link SceneFrame} after the last simulation step of every
+ * frame, and render
+ * plugins read the latest published frame instead of the live, locked nodes,
+ * so rendering one frame can overlap simulating the next.
+ * </p>
+ * <p>
+ * Plugins that only care about some nodes register a {@link SceneQuery},
+ * whose membership the scene keeps current as nodes are added, removed and
+ * changed. The nodes whose transform changed since the last
+ * {@link #clearChanges()} are listed by {@link #changedTransforms()}.
+ * </p>
+ * <p>
+ * Large scenes can keep their node transforms off-heap in a
+ * {@link TransformStore}, enabled with {@link #useTransformStore(int)}.
+ * Transforms written in bulk through the store are announced with
+ * {@link #transformsWritten()}.
+ * </p>
+ * <p>
+ * Readers that must not block on, or race with, the writers read an immutable
+ * {@link SceneSnapshot} instead, enabled with {@link #useSnapshots()}. Note that
+ * the live views returned by {@link #getNodes()} and the queries still require
+ * the read lock.
+ * </p>
  */
 public final class Scene {
 
 	/**
 	 * The Class ReadLocked.
 	 */
-	final class ReadLocked extends LockedSupport {
+	public final class ReadLocked extends LockedSupport {
 		
 		/**
 		 * Instantiates a new read locked.
@@ -57,7 +87,7 @@ public final class Scene {
 	/**
 	 * The Class WriteLocked.
 	 */
-	final class WriteLocked extends LockedSupport {
+	public final class WriteLocked extends LockedSupport {
 		
 		/**
 		 * Instantiates a new write locked.
@@ -72,6 +102,60 @@ public final class Scene {
 	/** The nodes. */
 	private final List<SceneNode> nodes = new ArrayList<>();
 
+	/** The read-only view of the nodes. */
+	private final List<SceneNode> nodesView = Collections.unmodifiableList(nodes);
+
+	/** The queries. */
+	private final List<SceneQuery> queries = new ArrayList<>();
+
+	/** The shared query of the nodes with a mesh. */
+	private final SceneQuery withMesh = query(node -> node.getMesh() != null);
+
+	/** The shared query of the nodes with a light. */
+	private final SceneQuery withLight = query(node -> node.getLight() != null);
+
+	/** The nodes whose transform changed. */
+	private final List<SceneNode> changed = new ArrayList<>();
+
+	/** The read-only view of the changed nodes. */
+	private final List<SceneNode> changedView = Collections.unmodifiableList(changed);
+
+	/** The transform store, or null while transforms are kept by the nodes. */
+	private TransformStore transformStore;
+
+	/** The spatial index, or null. */
+	private SpatialIndex spatialIndex;
+
+	/** The nodes whose world transform and subtree need recomputing. */
+	private final List<SceneNode> worldDirty = new ArrayList<>();
+
+	/** The subtrees recomputed by the world transform pass. */
+	private final List<SceneNode> worldRoots = new ArrayList<>();
+
+	/** The number of world transform passes. */
+	private int worldPass;
+
+	/** The change journal, or null. */
+	private ChangeJournal journal;
+
+	/** The snapshot publisher, or null. */
+	private SnapshotPublisher snapshots;
+
+	/** The instance batcher, or null. */
+	private InstanceBatcher instancing;
+
+	/** The command buffers free for acquiring. */
+	private final ConcurrentLinkedQueue<SceneCommandBuffer> freeCommands = new ConcurrentLinkedQueue<>();
+
+	/** The released command buffers holding commands, in release order. */
+	private final ConcurrentLinkedQueue<SceneCommandBuffer> pendingCommands = new ConcurrentLinkedQueue<>();
+
+	/** The command buffers being replayed, owned by {@link #applyCommands()}. */
+	private final List<SceneCommandBuffer> replayedCommands = new ArrayList<>();
+
+	/** The version, advanced at the end of every simulation step. */
+	private long version;
+
 	/** The rw lock. */
 	private final ReadWriteLock rwLock = new UpgradableReadWriteLock();
 	
@@ -84,9 +168,40 @@ public final class Scene {
 	/** The lockable. */
 	private final Lockable<ReadLocked, WriteLocked> lockable = new LockableSupport<>(rwLock, rLocked, wLocked);
 
+	/** The index bits of the frame exchange state, the rest flags a fresh frame. */
+	private static final int FRAME_INDEX_MASK = 0x3;
+
+	/** Set in the frame exchange state while the frame there was not yet acquired. */
+	private static final int FRAME_FRESH = 0x4;
+
 	/** The name. */
 	private String name;
 
+	/** The frame buffers, empty while unbuffered. */
+	private volatile SceneFrame[] frames = new SceneFrame[0];
+
+	/**
+	 * The frame exchange state, the index of the frame between publisher and
+	 * reader plus the fresh flag. With two buffers, the index of the published
+	 * frame.
+	 */
+	private final AtomicInteger frameExchange = new AtomicInteger();
+
+	/** The index of the frame being written, owned by the publisher. */
+	private int backFrame;
+
+	/** The index of the frame being read, owned by the reader. */
+	private int frontFrame;
+
+	/** The sequence number of the last publish. */
+	private long frameSequence;
+
+	/** The version published last, or -1. */
+	private long frameVersion = -1;
+
+	/** The frame acquired for rendering. */
+	private volatile SceneFrame renderFrame;
+
 	/**
 	 * Instantiates a new scene.
 	 *
@@ -97,32 +212,695 @@ public final class Scene {
 	}
 
 	/**
-	 * Adds the node.
+	 * Adds the node with its subtree, entering them in every matching query.
 	 *
 	 * @param node the node
 	 * @return true, if successful
+	 * @throws IllegalStateException if the node belongs to another scene, or is
+	 *                               the child of a node outside of this scene
 	 */
 	public boolean addNode(SceneNode node) {
-		return nodes.add(node);
+		if (node.scene == this) {
+			return false;
+		}
+		if (node.getParent() != null) {
+			throw new IllegalStateException("Node " + node.getId() + " is a child of " + node.getParent().getId());
+		}
+		addSubtree(node);
+		return true;
+	}
+
+	/**
+	 * Adds a node and its descendants.
+	 *
+	 * @param node the node
+	 */
+	void addSubtree(SceneNode node) {
+		if (node.scene != null) {
+			throw new IllegalStateException("Node " + node.getId() + " already belongs to scene " + node.scene.name());
+		}
+		node.scene = this;
+		if (transformStore != null) {
+			node.attach(transformStore);
+		}
+		nodes.add(node);
+		for (int i = 0; i < queries.size(); i++) {
+			queries.get(i).update(node);
+		}
+		if (spatialIndex != null) {
+			spatialIndex.insert(node);
+		}
+		if (snapshots != null) {
+			snapshots.add(node);
+		}
+		if (instancing != null) {
+			instancing.update(node);
+		}
+		record(node, SceneChange.ADDED);
+		for (int i = 0; i < node.children.size(); i++) {
+			addSubtree(node.children.get(i));
+		}
+		worldChanged(node);
 	}
 
 	/**
-	 * Removes the node.
+	 * Removes the node with its subtree from the scene and all of its queries,
+	 * detaching the node from its parent.
 	 *
 	 * @param node the node
 	 * @return true, if successful
 	 */
 	public boolean removeNode(SceneNode node) {
-		return nodes.remove(node);
+		if (node.scene != this) {
+			return false;
+		}
+		node.unlink();
+		removeSubtree(node);
+		return true;
+	}
+
+	/**
+	 * Removes a node and its descendants.
+	 *
+	 * @param node the node
+	 */
+	private void removeSubtree(SceneNode node) {
+		if (spatialIndex != null) {
+			spatialIndex.remove(node);
+		}
+		node.scene = null;
+		node.detach(true);
+		nodes.remove(node);
+		for (int i = 0; i < queries.size(); i++) {
+			queries.get(i).remove(node);
+		}
+		if (node.transformChanged) {
+			node.transformChanged = false;
+			changed.remove(node);
+		}
+		node.worldDirty = false;
+		if (snapshots != null) {
+			snapshots.remove(node);
+		}
+		if (instancing != null) {
+			instancing.remove(node);
+		}
+		record(node, SceneChange.REMOVED);
+		for (int i = 0; i < node.children.size(); i++) {
+			removeSubtree(node.children.get(i));
+		}
+	}
+
+	/**
+	 * Removes all nodes.
+	 */
+	public void clear() {
+		if (spatialIndex != null) {
+			spatialIndex.clear();
+		}
+		for (int i = 0; i < nodes.size(); i++) {
+			SceneNode node = nodes.get(i);
+			node.scene = null;
+			node.transformChanged = false;
+			node.worldDirty = false;
+			node.detach(false);
+		}
+		if (transformStore != null) {
+			transformStore.clear();
+		}
+		nodes.clear();
+		changed.clear();
+		worldDirty.clear();
+		if (journal != null) {
+			journal.invalidate();
+		}
+		if (snapshots != null) {
+			snapshots.clear();
+		}
+		if (instancing != null) {
+			instancing.clear();
+		}
+		for (int i = 0; i < queries.size(); i++) {
+			queries.get(i).clear();
+		}
 	}
 
 	/**
 	 * Gets the nodes.
 	 *
-	 * @return the nodes
+	 * @return a read-only live view of the nodes
 	 */
 	public List<SceneNode> getNodes() {
-		return nodes;
+		return nodesView;
+	}
+
+	/**
+	 * Moves the transforms of all nodes, present and future, into an off-heap
+	 * {@link TransformStore}. Does nothing if the scene already uses one. Must
+	 * be called by a writer.
+	 *
+	 * @param initialCapacity the initial capacity in nodes
+	 * @return the transform store
+	 */
+	public TransformStore useTransformStore(int initialCapacity) {
+		if (transformStore == null) {
+			TransformStore store = new TransformStore(Math.max(initialCapacity, nodes.size()));
+			for (int i = 0; i < nodes.size(); i++) {
+				nodes.get(i).attach(store);
+			}
+			transformStore = store;
+		}
+		return transformStore;
+	}
+
+	/**
+	 * Indexes the nodes, present and future, in a {@link SpatialIndex}. Does
+	 * nothing if the scene already has one. Must be called by a writer.
+	 *
+	 * @param extent the half size of the indexed region around the origin,
+	 *               nodes outside it are still indexed but not partitioned
+	 * @return the spatial index
+	 */
+	public SpatialIndex useSpatialIndex(float extent) {
+		if (spatialIndex == null) {
+			SpatialIndex index = new SpatialIndex(extent);
+			for (int i = 0; i < nodes.size(); i++) {
+				index.insert(nodes.get(i));
+			}
+			spatialIndex = index;
+		}
+		return spatialIndex;
+	}
+
+	/**
+	 * Gets the spatial index.
+	 *
+	 * @return the spatial index, or null
+	 */
+	public SpatialIndex spatialIndex() {
+		return spatialIndex;
+	}
+
+	/**
+	 * Journals the changes made to the nodes from now on. Does nothing if the
+	 * scene already has a journal. Must be called by a writer.
+	 *
+	 * @param capacity the number of changes kept for consumers that have yet
+	 *                 to read them
+	 * @return the change journal
+	 */
+	public ChangeJournal useChangeJournal(int capacity) {
+		if (journal == null) {
+			journal = new ChangeJournal(capacity);
+		}
+		return journal;
+	}
+
+	/**
+	 * Gets the change journal.
+	 *
+	 * @return the change journal, or null
+	 */
+	public ChangeJournal changeJournal() {
+		return journal;
+	}
+
+	/**
+	 * Gets the version of the scene, the number of simulation steps completed.
+	 * Changes made during a step are journaled with the version the step
+	 * started in.
+	 *
+	 * @return the version
+	 */
+	public long version() {
+		return version;
+	}
+
+	/**
+	 * Publishes an immutable {@link SceneSnapshot} of the nodes once per
+	 * simulation step from now on. Does nothing if the scene already does.
+	 * Must be called by a writer.
+	 */
+	public void useSnapshots() {
+		if (snapshots == null) {
+			SnapshotPublisher publisher = new SnapshotPublisher();
+			for (int i = 0; i < nodes.size(); i++) {
+				publisher.add(nodes.get(i));
+			}
+			publisher.publish(version);
+			snapshots = publisher;
+		}
+	}
+
+	/**
+	 * Gets the latest published snapshot. Takes no lock, the snapshot never
+	 * changes and may be read concurrently with the scene's writers for as
+	 * long as the reader holds it.
+	 *
+	 * @return the snapshot, empty unless {@link #useSnapshots()} was called
+	 */
+	public SceneSnapshot snapshot() {
+		return (snapshots == null) ? SceneSnapshot.EMPTY : snapshots.latest();
+	}
+
+	/**
+	 * Publishes the current state of the nodes as the latest snapshot,
+	 * copying only the chunks of the nodes changed since the previous one.
+	 * Called by the scene's app at the end of every simulation step, once all
+	 * of the step's writers finished. Does nothing unless snapshots are used.
+	 */
+	public void publishSnapshot() {
+		if (snapshots != null) {
+			snapshots.publish(version);
+		}
+	}
+
+	/**
+	 * Groups the mesh nodes, present and future, by mesh and material for
+	 * instanced drawing, with their world matrices packed per group. Does
+	 * nothing if the scene already does. The groups are live scene state, not
+	 * part of the published frames, so a buffered scene is not drawn from
+	 * them. Must be called by a writer.
+	 *
+	 * @return the instance batcher
+	 */
+	public InstanceBatcher useInstancing() {
+		if (instancing == null) {
+			InstanceBatcher batcher = new InstanceBatcher();
+			for (int i = 0; i < nodes.size(); i++) {
+				batcher.update(nodes.get(i));
+			}
+			instancing = batcher;
+		}
+		return instancing;
+	}
+
+	/**
+	 * Gets the instance batcher.
+	 *
+	 * @return the instance batcher, or null
+	 */
+	public InstanceBatcher instancing() {
+		return instancing;
+	}
+
+	/**
+	 * Acquires a command buffer from the scene's pool, recording mutations that
+	 * are applied in one batch by {@link #applyCommands()} once the buffer is
+	 * {@link SceneCommandBuffer#close() closed}. Plugin tasks running in
+	 * parallel record into their own buffers without any locking.
+	 *
+	 * @return the command buffer
+	 */
+	public SceneCommandBuffer acquireCommands() {
+		SceneCommandBuffer buffer = freeCommands.poll();
+		if (buffer == null) {
+			buffer = new SceneCommandBuffer(this);
+		}
+		buffer.acquired = true;
+		return buffer;
+	}
+
+	/**
+	 * Takes back a command buffer, queueing it for the next batch if it holds
+	 * commands and returning it to the pool otherwise.
+	 *
+	 * @param buffer the buffer
+	 */
+	void releaseCommands(SceneCommandBuffer buffer) {
+		if (!buffer.acquired) {
+			throw new IllegalStateException("Command buffer already released");
+		}
+		buffer.acquired = false;
+		if (buffer.size() == 0) {
+			freeCommands.add(buffer);
+		} else {
+			pendingCommands.add(buffer);
+		}
+	}
+
+	/**
+	 * Applies the commands of all released buffers under a single write lock,
+	 * additions and removals first, then modifications, each in the order the
+	 * buffers were released. The buffers are emptied and returned to the pool
+	 * even if a command fails. Called by the scene's app at the end of every
+	 * simulation step, once the step's plugin tasks completed and before the
+	 * world transforms are updated.
+	 *
+	 * @throws InterruptedException if interrupted while waiting for the lock
+	 */
+	public void applyCommands() throws InterruptedException {
+		if (pendingCommands.isEmpty()) {
+			return;
+		}
+		List<SceneCommandBuffer> batch = replayedCommands;
+		for (SceneCommandBuffer buffer; (buffer = pendingCommands.poll()) != null;) {
+			batch.add(buffer);
+		}
+		try (WriteLocked locked = lockForWrite()) {
+			for (int phase = 0; phase < SceneCommandBuffer.PHASE_COUNT; phase++) {
+				for (int i = 0; i < batch.size(); i++) {
+					batch.get(i).replay(this, phase);
+				}
+			}
+		} finally {
+			for (int i = 0; i < batch.size(); i++) {
+				SceneCommandBuffer buffer = batch.get(i);
+				buffer.reset();
+				freeCommands.add(buffer);
+			}
+			batch.clear();
+		}
+	}
+
+	/**
+	 * Notifies the scene that the transforms of its nodes were written in bulk
+	 * through its {@link TransformStore}, bypassing the nodes. Every node is
+	 * listed as changed and journaled, and its world transform is marked for
+	 * recomputing by the next {@link #updateWorldTransforms(ForkJoinPool)},
+	 * which also re-indexes the child nodes. Nodes without a parent are
+	 * re-indexed right away. Must be called by a writer.
+	 */
+	public void transformsWritten() {
+		for (int i = 0; i < nodes.size(); i++) {
+			transformChanged(nodes.get(i));
+		}
+	}
+
+	/**
+	 * Gets the transform store.
+	 *
+	 * @return the transform store, or null when the nodes keep their own
+	 *         transforms
+	 */
+	public TransformStore transformStore() {
+		return transformStore;
+	}
+
+	/**
+	 * Recomputes the world matrices of the subtrees whose transforms or
+	 * hierarchy changed since the last pass. Subtrees under different changed
+	 * nodes are independent and are recomputed in parallel on the pool, then
+	 * the spatial index is updated for the child nodes of the recomputed
+	 * subtrees, including changed subtree roots that are children. Called by
+	 * the scene's app at the end of every simulation step, before the frame
+	 * is published.
+	 *
+	 * @param pool the pool the subtrees are recomputed on
+	 */
+	public void updateWorldTransforms(ForkJoinPool pool) {
+		if (worldDirty.isEmpty()) {
+			return;
+		}
+		int pass = ++worldPass;
+		for (int i = 0; i < worldDirty.size(); i++) {
+			SceneNode node = worldDirty.get(i);
+			if (node.scene != this || !node.worldDirty || node.worldPass == pass) {
+				continue;
+			}
+			SceneNode ancestor = node.getParent();
+			while (ancestor != null && !ancestor.worldDirty) {
+				ancestor = ancestor.getParent();
+			}
+			if (ancestor == null) {
+				node.worldPass = pass;
+				worldRoots.add(node);
+			}
+		}
+		for (int i = 0; i < worldDirty.size(); i++) {
+			worldDirty.get(i).worldDirty = false;
+		}
+		worldDirty.clear();
+
+		pool.invoke(new WorldTransformPass(worldRoots, 0, worldRoots.size()));
+		if (spatialIndex != null) {
+			for (int i = 0; i < worldRoots.size(); i++) {
+				SceneNode root = worldRoots.get(i);
+				if (root.getParent() != null) {
+					spatialIndex.update(root);
+				}
+				reindexChildren(root);
+			}
+		}
+		worldRoots.clear();
+	}
+
+	/**
+	 * Updates the spatial index for the descendants of a node.
+	 *
+	 * @param node the node
+	 */
+	private void reindexChildren(SceneNode node) {
+		for (int i = 0; i < node.children.size(); i++) {
+			SceneNode child = node.children.get(i);
+			spatialIndex.update(child);
+			reindexChildren(child);
+		}
+	}
+
+	/**
+	 * Registers a query of the nodes matching a filter. The filter must only
+	 * depend on the mesh, material and light of a node, the properties whose
+	 * setters notify the scene.
+	 *
+	 * @param filter the filter
+	 * @return the query, populated with the current matching nodes
+	 */
+	public SceneQuery query(Predicate<SceneNode> filter) {
+		SceneQuery query = new SceneQuery(this, filter);
+		for (int i = 0; i < nodes.size(); i++) {
+			query.update(nodes.get(i));
+		}
+		queries.add(query);
+		return query;
+	}
+
+	/**
+	 * Unregisters a query. Shared queries stay registered.
+	 *
+	 * @param query the query
+	 */
+	void removeQuery(SceneQuery query) {
+		if (query != withMesh && query != withLight) {
+			queries.remove(query);
+		}
+	}
+
+	/**
+	 * Gets the shared query of the nodes with a mesh.
+	 *
+	 * @return the query
+	 */
+	public SceneQuery nodesWithMesh() {
+		return withMesh;
+	}
+
+	/**
+	 * Gets the shared query of the nodes with a light.
+	 *
+	 * @return the query
+	 */
+	public SceneQuery nodesWithLight() {
+		return withLight;
+	}
+
+	/**
+	 * Gets the nodes whose transform was set since the last
+	 * {@link #clearChanges()}, each listed once.
+	 *
+	 * @return a read-only live view of the changed nodes
+	 */
+	public List<SceneNode> changedTransforms() {
+		return changedView;
+	}
+
+	/**
+	 * Clears the changed transforms and advances the scene version. Called by
+	 * the scene's app at the end of every simulation step.
+	 */
+	public void clearChanges() {
+		version++;
+		for (int i = 0; i < changed.size(); i++) {
+			changed.get(i).transformChanged = false;
+		}
+		changed.clear();
+	}
+
+	/**
+	 * Journals a change and marks the node's snapshot slot.
+	 *
+	 * @param node   the node
+	 * @param change the change
+	 */
+	private void record(SceneNode node, SceneChange change) {
+		if (journal != null) {
+			journal.record(node, change, version);
+		}
+		if (snapshots != null) {
+			snapshots.changed(node);
+		}
+	}
+
+	/**
+	 * Re-evaluates the queries for a node whose mesh, material or light changed.
+	 *
+	 * @param node   the node
+	 * @param change the change
+	 */
+	void nodeChanged(SceneNode node, SceneChange change) {
+		record(node, change);
+		if (instancing != null && change != SceneChange.LIGHT) {
+			instancing.update(node);
+		}
+		for (int i = 0; i < queries.size(); i++) {
+			queries.get(i).update(node);
+		}
+	}
+
+	/**
+	 * Marks the world transform of a node that was moved in the hierarchy for
+	 * recomputing. A node left without a parent is re-indexed right away, a
+	 * child once its world transform was recomputed.
+	 *
+	 * @param node the node
+	 */
+	void hierarchyChanged(SceneNode node) {
+		if (spatialIndex != null && node.getParent() == null) {
+			spatialIndex.update(node);
+		}
+		worldChanged(node);
+		record(node, SceneChange.TRANSFORM);
+	}
+
+	/**
+	 * Marks the world transform of a node and its subtree for recomputing.
+	 *
+	 * @param node the node
+	 */
+	private void worldChanged(SceneNode node) {
+		if (!node.worldDirty) {
+			node.worldDirty = true;
+			worldDirty.add(node);
+		}
+	}
+
+	/**
+	 * Re-indexes a node whose bounds changed.
+	 *
+	 * @param node the node
+	 */
+	void boundsChanged(SceneNode node) {
+		if (spatialIndex != null) {
+			spatialIndex.update(node);
+		}
+	}
+
+	/**
+	 * Lists a node whose transform changed. A node without a parent is
+	 * re-indexed right away, a child once its world transform was recomputed
+	 * by {@link #updateWorldTransforms(ForkJoinPool)}.
+	 *
+	 * @param node the node
+	 */
+	void transformChanged(SceneNode node) {
+		if (spatialIndex != null && node.getParent() == null) {
+			spatialIndex.update(node);
+		}
+		worldChanged(node);
+		record(node, SceneChange.TRANSFORM);
+		if (!node.transformChanged) {
+			node.transformChanged = true;
+			changed.add(node);
+		}
+	}
+
+	/**
+	 * Sets the number of frame buffers. 1 leaves the scene unbuffered, with
+	 * render plugins reading the live nodes. With 2 buffers a frame stays valid
+	 * until the next publish, which is sufficient when rendering alternates with
+	 * simulation. With 3 buffers the frame acquired for rendering is never
+	 * overwritten until the next acquire, so rendering may overlap any number of
+	 * simulation steps. Must be set while the scene is not being updated.
+	 *
+	 * @param count the buffer count, 1 to 3
+	 */
+	public void setFrameBuffers(int count) {
+		if (count < 1 || count > 3) {
+			throw new IllegalArgumentException("Frame buffers must be 1 to 3: " + count);
+		}
+		SceneFrame[] buffers = new SceneFrame[(count == 1) ? 0 : count];
+		for (int i = 0; i < buffers.length; i++) {
+			buffers[i] = new SceneFrame(nodes.size());
+		}
+		backFrame = 0;
+		frameExchange.set(1);
+		frontFrame = buffers.length - 1;
+		renderFrame = null;
+		frameVersion = -1;
+		frames = buffers;
+	}
+
+	/**
+	 * Checks if the scene publishes frames.
+	 *
+	 * @return true, if buffered
+	 */
+	public boolean isBuffered() {
+		return frames.length != 0;
+	}
+
+	/**
+	 * Publishes the current state of the nodes as the latest frame. Called by
+	 * the scene's app once per rendered frame, after the frame's last
+	 * simulation step, and never concurrently with itself. Does nothing when
+	 * unbuffered or when no step completed since the last publish.
+	 */
+	public void publishFrame() {
+		SceneFrame[] buffers = frames;
+		if (buffers.length == 0 || frameVersion == version) {
+			return;
+		}
+		frameVersion = version;
+		buffers[backFrame].capture(nodes, ++frameSequence);
+		if (buffers.length == 2) {
+			int published = backFrame;
+			backFrame = frameExchange.getAndSet(published);
+		} else {
+			backFrame = frameExchange.getAndSet(backFrame | FRAME_FRESH) & FRAME_INDEX_MASK;
+		}
+	}
+
+	/**
+	 * Acquires the latest published frame for rendering, making it the
+	 * {@link #renderFrame()}. Called by the scene's app once per rendered frame,
+	 * never concurrently with itself.
+	 *
+	 * @return the frame, or null when unbuffered or nothing was published yet
+	 */
+	public SceneFrame acquireFrame() {
+		SceneFrame[] buffers = frames;
+		if (buffers.length == 0) {
+			return null;
+		}
+		if (buffers.length == 2) {
+			frontFrame = frameExchange.get();
+		} else if ((frameExchange.get() & FRAME_FRESH) != 0) {
+			frontFrame = frameExchange.getAndSet(frontFrame) & FRAME_INDEX_MASK;
+		}
+		SceneFrame frame = buffers[frontFrame];
+		renderFrame = (frame.sequence() == 0) ? null : frame;
+		return renderFrame;
+	}
+
+	/**
+	 * Gets the frame acquired for the frame being rendered. Render plugins read
+	 * it instead of the live nodes when the scene is buffered.
+	 *
+	 * @return the render frame, or null when unbuffered or nothing was
+	 *         published yet
+	 */
+	public SceneFrame renderFrame() {
+		return renderFrame;
 	}
 
 	/**
@@ -0,0 +1,317 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.scene;
+
+import java.util.Arrays;
+
+/**
+ * Records mutations of a {@link Scene} for deferred, batched application.
+ * <p>
+ * Each task acquires a buffer from the scene's pool with
+ * {@link Scene#acquireCommands()}, records into it without locking and
+ * closes it when done, handing it over for replay. The scene's app replays
+ * the handed over buffers once per simulation step, after the step's plugin
+ * tasks completed, under a single write lock: first all additions and
+ * removals, then all modifications, each in the order recorded per buffer, so
+ * a node removed and added again by the same buffer ends up in the scene.
+ * Commands are kept in flat primitive arrays, and the buffers are returned to
+ * the pool after the replay and reused from step to step.
+ * </p>
+ *
+ * <pre>{@code
+ * try (SceneCommandBuffer commands = scene.acquireCommands()) {
+ *     commands.translate(node, 0, 0, speed * deltaTime);
+ * }
+ * }</pre>
+ */
+public final class SceneCommandBuffer implements AutoCloseable {
+
+	/** The add node command. */
+	private static final int ADD = 0;
+
+	/** The set position command. */
+	private static final int SET_POSITION = 1;
+
+	/** The translate command. */
+	private static final int TRANSLATE = 2;
+
+	/** The set rotation command. */
+	private static final int SET_ROTATION = 3;
+
+	/** The rotate command. */
+	private static final int ROTATE = 4;
+
+	/** The set scale command. */
+	private static final int SET_SCALE = 5;
+
+	/** The set mesh command. */
+	private static final int SET_MESH = 6;
+
+	/** The set material command. */
+	private static final int SET_MATERIAL = 7;
+
+	/** The set light command. */
+	private static final int SET_LIGHT = 8;
+
+	/** The remove node command. */
+	private static final int REMOVE = 9;
+
+	/** The replay phase of each command, structural changes first. */
+	private static final int[] PHASES = { 0, 1, 1, 1, 1, 1, 1, 1, 1, 0 };
+
+	/** The number of replay phases. */
+	static final int PHASE_COUNT = 2;
+
+	/** The scene owning the buffer. */
+	private final Scene scene;
+
+	/** Set while the buffer is acquired by a task. */
+	boolean acquired;
+
+	/** The command codes. */
+	private int[] commands = new int[64];
+
+	/** The target nodes. */
+	private SceneNode[] nodes = new SceneNode[64];
+
+	/** The float arguments, 3 per command. */
+	private float[] floats = new float[64 * 3];
+
+	/** The reference arguments. */
+	private Object[] refs = new Object[64];
+
+	/** The number of commands. */
+	private int count;
+
+	/** The number of commands per phase. */
+	private final int[] phaseCounts = new int[PHASE_COUNT];
+
+	/**
+	 * Instantiates a new command buffer.
+	 *
+	 * @param scene the scene owning the buffer
+	 */
+	SceneCommandBuffer(Scene scene) {
+		this.scene = scene;
+	}
+
+	/**
+	 * Records adding a node with its subtree.
+	 *
+	 * @param node the node
+	 */
+	public void addNode(SceneNode node) {
+		append(ADD, node, 0, 0, 0, null);
+	}
+
+	/**
+	 * Records removing a node with its subtree.
+	 *
+	 * @param node the node
+	 */
+	public void removeNode(SceneNode node) {
+		append(REMOVE, node, 0, 0, 0, null);
+	}
+
+	/**
+	 * Records setting the position of a node.
+	 *
+	 * @param node the node
+	 * @param x    the x
+	 * @param y    the y
+	 * @param z    the z
+	 */
+	public void setPosition(SceneNode node, float x, float y, float z) {
+		append(SET_POSITION, node, x, y, z, null);
+	}
+
+	/**
+	 * Records moving the position of a node.
+	 *
+	 * @param node the node
+	 * @param dx   the x offset
+	 * @param dy   the y offset
+	 * @param dz   the z offset
+	 */
+	public void translate(SceneNode node, float dx, float dy, float dz) {
+		append(TRANSLATE, node, dx, dy, dz, null);
+	}
+
+	/**
+	 * Records setting the rotation of a node.
+	 *
+	 * @param node the node
+	 * @param x    the Euler angle about x, in radians
+	 * @param y    the Euler angle about y, in radians
+	 * @param z    the Euler angle about z, in radians
+	 */
+	public void setRotation(SceneNode node, float x, float y, float z) {
+		append(SET_ROTATION, node, x, y, z, null);
+	}
+
+	/**
+	 * Records adding to the rotation of a node.
+	 *
+	 * @param node the node
+	 * @param dx   the angle added about x, in radians
+	 * @param dy   the angle added about y, in radians
+	 * @param dz   the angle added about z, in radians
+	 */
+	public void rotate(SceneNode node, float dx, float dy, float dz) {
+		append(ROTATE, node, dx, dy, dz, null);
+	}
+
+	/**
+	 * Records setting the scale of a node.
+	 *
+	 * @param node the node
+	 * @param x    the x
+	 * @param y    the y
+	 * @param z    the z
+	 */
+	public void setScale(SceneNode node, float x, float y, float z) {
+		append(SET_SCALE, node, x, y, z, null);
+	}
+
+	/**
+	 * Records setting the mesh of a node.
+	 *
+	 * @param node the node
+	 * @param mesh the mesh
+	 */
+	public void setMesh(SceneNode node, String mesh) {
+		append(SET_MESH, node, 0, 0, 0, mesh);
+	}
+
+	/**
+	 * Records setting the material of a node.
+	 *
+	 * @param node     the node
+	 * @param material the material
+	 */
+	public void setMaterial(SceneNode node, String material) {
+		append(SET_MATERIAL, node, 0, 0, 0, material);
+	}
+
+	/**
+	 * Records setting the light of a node.
+	 *
+	 * @param node  the node
+	 * @param light the light
+	 */
+	public void setLight(SceneNode node, Light light) {
+		append(SET_LIGHT, node, 0, 0, 0, light);
+	}
+
+	/**
+	 * Appends a command.
+	 *
+	 * @param command the command
+	 * @param node    the node
+	 * @param x       the first float argument
+	 * @param y       the second float argument
+	 * @param z       the third float argument
+	 * @param ref     the reference argument
+	 */
+	private void append(int command, SceneNode node, float x, float y, float z, Object ref) {
+		if (count == commands.length) {
+			int capacity = count * 2;
+			commands = Arrays.copyOf(commands, capacity);
+			nodes = Arrays.copyOf(nodes, capacity);
+			floats = Arrays.copyOf(floats, capacity * 3);
+			refs = Arrays.copyOf(refs, capacity);
+		}
+		commands[count] = command;
+		nodes[count] = node;
+		floats[count * 3] = x;
+		floats[count * 3 + 1] = y;
+		floats[count * 3 + 2] = z;
+		refs[count] = ref;
+		phaseCounts[PHASES[command]]++;
+		count++;
+	}
+
+	/**
+	 * Gets the number of commands recorded.
+	 *
+	 * @return the size
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Applies the commands of one phase to a scene.
+	 *
+	 * @param scene the scene
+	 * @param phase the phase
+	 */
+	void replay(Scene scene, int phase) {
+		if (phaseCounts[phase] == 0) {
+			return;
+		}
+		for (int i = 0; i < count; i++) {
+			int command = commands[i];
+			if (PHASES[command] != phase) {
+				continue;
+			}
+			SceneNode node = nodes[i];
+			float x = floats[i * 3], y = floats[i * 3 + 1], z = floats[i * 3 + 2];
+			switch (command) {
+			case ADD -> scene.addNode(node);
+			case SET_POSITION -> node.setPosition(x, y, z);
+			case TRANSLATE -> node.translate(x, y, z);
+			case SET_ROTATION -> node.setRotation(x, y, z);
+			case ROTATE -> node.rotate(x, y, z);
+			case SET_SCALE -> node.setScale(x, y, z);
+			case SET_MESH -> node.setMesh((String) refs[i]);
+			case SET_MATERIAL -> node.setMaterial((String) refs[i]);
+			case SET_LIGHT -> node.setLight((Light) refs[i]);
+			case REMOVE -> scene.removeNode(node);
+			default -> throw new IllegalStateException("Unknown command: " + command);
+			}
+		}
+	}
+
+	/**
+	 * Hands the buffer back to its scene, to be replayed with the next batch
+	 * if it holds commands. The buffer must not be used afterwards.
+	 *
+	 * @see java.lang.AutoCloseable#close()
+	 */
+	@Override
+	public void close() {
+		scene.releaseCommands(this);
+	}
+
+	/**
+	 * Discards all commands, keeping the buffers.
+	 */
+	void reset() {
+		Arrays.fill(nodes, 0, count, null);
+		Arrays.fill(refs, 0, count, null);
+		Arrays.fill(phaseCounts, 0);
+		count = 0;
+	}
+}
@@ -0,0 +1,224 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.scene;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable view of the state of a {@link Scene}'s nodes as of the last
+ * simulation step of one rendered frame. Frames are buffers owned and reused by their scene: the
+ * node state is copied into flat arrays when the frame is published and stays
+ * unchanged for as long as the reader holds the frame, so render plugins can
+ * read it without taking the scene lock while the simulation writes the next
+ * one.
+ *
+ * @see Scene#setFrameBuffers(int)
+ */
+public final class SceneFrame {
+
+	/** The ids. */
+	private String[] ids;
+
+	/** The meshes. */
+	private String[] meshes;
+
+	/** The materials. */
+	private String[] materials;
+
+	/** The lights. */
+	private Light[] lights;
+
+	/** The number of world matrix elements per node. */
+	private static final int MATRIX = 16;
+
+	/** The world matrices, column-major, {@link #MATRIX} elements per node. */
+	private float[] worlds;
+
+	/** The bounds radii. */
+	private float[] bounds;
+
+	/** The size. */
+	private int size;
+
+	/** The sequence number of the publish. */
+	private long sequence;
+
+	/**
+	 * Instantiates a new empty scene frame.
+	 *
+	 * @param capacity the initial capacity
+	 */
+	SceneFrame(int capacity) {
+		this.ids = new String[capacity];
+		this.meshes = new String[capacity];
+		this.materials = new String[capacity];
+		this.lights = new Light[capacity];
+		this.worlds = new float[capacity * MATRIX];
+		this.bounds = new float[capacity];
+	}
+
+	/**
+	 * Copies the state of the nodes into this frame, growing the buffers if
+	 * needed. World matrices are copied as of the scene's last world transform
+	 * pass, lights are immutable and copied by reference.
+	 *
+	 * @param nodes    the nodes
+	 * @param sequence the sequence number of the publish
+	 */
+	void capture(List<SceneNode> nodes, long sequence) {
+		int count = nodes.size();
+		if (count > ids.length) {
+			int capacity = Math.max(count, ids.length * 2);
+			ids = Arrays.copyOf(ids, capacity);
+			meshes = Arrays.copyOf(meshes, capacity);
+			materials = Arrays.copyOf(materials, capacity);
+			lights = Arrays.copyOf(lights, capacity);
+			worlds = Arrays.copyOf(worlds, capacity * MATRIX);
+			bounds = Arrays.copyOf(bounds, capacity);
+		}
+
+		for (int i = 0; i < count; i++) {
+			SceneNode node = nodes.get(i);
+			ids[i] = node.getId();
+			meshes[i] = node.getMesh();
+			materials[i] = node.getMaterial();
+			lights[i] = node.getLight();
+			node.getWorldMatrix(worlds, i * MATRIX);
+			bounds[i] = node.getBoundsRadius();
+		}
+		if (size > count) {
+			Arrays.fill(ids, count, size, null);
+			Arrays.fill(meshes, count, size, null);
+			Arrays.fill(materials, count, size, null);
+			Arrays.fill(lights, count, size, null);
+		}
+
+		this.size = count;
+		this.sequence = sequence;
+	}
+
+	/**
+	 * Gets the number of nodes.
+	 *
+	 * @return the size
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the sequence number of the publish, increasing with every frame the
+	 * scene publishes.
+	 *
+	 * @return the sequence
+	 */
+	public long sequence() {
+		return sequence;
+	}
+
+	/**
+	 * Gets the id of a node.
+	 *
+	 * @param index the node index
+	 * @return the id
+	 */
+	public String id(int index) {
+		return ids[checkIndex(index)];
+	}
+
+	/**
+	 * Gets the mesh of a node.
+	 *
+	 * @param index the node index
+	 * @return the mesh, or null
+	 */
+	public String mesh(int index) {
+		return meshes[checkIndex(index)];
+	}
+
+	/**
+	 * Gets the material of a node.
+	 *
+	 * @param index the node index
+	 * @return the material, or null
+	 */
+	public String material(int index) {
+		return materials[checkIndex(index)];
+	}
+
+	/**
+	 * Gets the light of a node.
+	 *
+	 * @param index the node index
+	 * @return the light, or null
+	 */
+	public Light light(int index) {
+		return lights[checkIndex(index)];
+	}
+
+	/**
+	 * Copies the world matrix of a node.
+	 *
+	 * @param index the node index
+	 * @param dest  the destination, 16 floats, column-major
+	 * @return the destination
+	 */
+	public float[] getWorldMatrix(int index, float[] dest) {
+		System.arraycopy(worlds, checkIndex(index) * MATRIX, dest, 0, MATRIX);
+		return dest;
+	}
+
+	/**
+	 * Gets a component of the world position of a node, without allocating.
+	 *
+	 * @param index the node index
+	 * @param axis  the axis, 0 to 2 for x, y and z
+	 * @return the value
+	 */
+	public float position(int index, int axis) {
+		return worlds[checkIndex(index) * MATRIX + 12 + Objects.checkIndex(axis, 3)];
+	}
+
+	/**
+	 * Gets the bounds radius of a node.
+	 *
+	 * @param index the node index
+	 * @return the bounds radius
+	 */
+	public float boundsRadius(int index) {
+		return bounds[checkIndex(index)];
+	}
+
+	/**
+	 * Checks a node index against the size.
+	 *
+	 * @param index the index
+	 * @return the index
+	 */
+	private int checkIndex(int index) {
+		return Objects.checkIndex(index, size);
+	}
+}
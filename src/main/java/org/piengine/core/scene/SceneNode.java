@@ -23,13 +23,28 @@
  */
 package org.piengine.core.scene;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import org.piengine.commons.math.Vector3D.Vector3f;
 
 /**
- * Represents a node in the scenegraph (e.g., mesh, light, camera).
+ * Represents a node in the scenegraph (e.g., mesh, light, camera). A node
+ * belongs to at most one scene, which it notifies of changes to keep the
+ * scene's queries current.
+ * <p>
+ * Nodes form a hierarchy: the transform of a node is local to its parent, and
+ * its scene caches the resulting world matrix, recomputing it only for the
+ * subtrees whose transforms changed. A parent and its children always belong
+ * to the same scene.
+ * </p>
  */
 public class SceneNode {
 
+	/** The identity matrix, the world matrix of a root node's parent. */
+	private static final float[] IDENTITY = { 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1 };
+
 	/** The id. */
 	private final String id;
 
@@ -42,8 +57,71 @@ public class SceneNode {
 	/** The light. */
 	private Light light;
 
-	/** The transform. */
-	private Transform transform;
+	/**
+	 * The local transform components, in {@link TransformStore.Column} order,
+	 * while not held by a transform store.
+	 */
+	private float[] local = { 0, 0, 0, 0, 0, 0, 1, 1, 1 };
+
+	/** The last transform snapshot, or null once the transform changed. */
+	private Transform snapshot;
+
+	/** The transform store holding the transform, or null. */
+	private TransformStore store;
+
+	/** The slot of the transform in the store. */
+	private int slot = -1;
+
+	/** The bounds radius. */
+	private float boundsRadius;
+
+	/** The cell of the scene's spatial index holding the node. */
+	SpatialIndex.Cell spatialCell;
+
+	/** The index of the node in its spatial index cell. */
+	int spatialSlot;
+
+	/** The scene the node was added to. */
+	Scene scene;
+
+	/** Set while the node is listed in its scene's changed transforms. */
+	boolean transformChanged;
+
+	/** The parent, or null. */
+	private SceneNode parent;
+
+	/** The children. */
+	final List<SceneNode> children = new ArrayList<>(0);
+
+	/** The read-only view of the children. */
+	private final List<SceneNode> childrenView = Collections.unmodifiableList(children);
+
+	/** The world matrix, column-major, as of the last world transform pass. */
+	private final float[] world = { 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1 };
+
+	/** Set while the node is listed in its scene's dirty world transforms. */
+	boolean worldDirty;
+
+	/** The world transform pass that last collected the node as a subtree root. */
+	int worldPass;
+
+	/** The scene version of the node's last journaled change. */
+	long journalVersion = -1;
+
+	/** The journal read mark as of the node's last journaled change. */
+	long journalMark;
+
+	/** The kinds of change journaled for the node since then. */
+	int journalMask;
+
+	/** The slot of the node in the scene's snapshots, or -1. */
+	int snapshotSlot = -1;
+
+	/** The instance group of the node, or null. */
+	InstanceGroup instanceGroup;
+
+	/** The index of the node in its instance group. */
+	int instanceIndex = -1;
 
 	/**
 	 * Instantiates a new scene node.
@@ -52,10 +130,6 @@ public class SceneNode {
 	 */
 	public SceneNode(String id) {
 		this.id = id;
-		this.transform = new Transform(
-				new Vector3f(0, 0, 0),
-				new Vector3f(0, 0, 0),
-				new Vector3f(1, 1, 1));
 	}
 
 	/**
@@ -83,6 +157,9 @@ public class SceneNode {
 	 */
 	public void setMesh(String mesh) {
 		this.mesh = mesh;
+		if (scene != null) {
+			scene.nodeChanged(this, SceneChange.MESH);
+		}
 	}
 
 	/**
@@ -101,6 +178,9 @@ public class SceneNode {
 	 */
 	public void setMaterial(String material) {
 		this.material = material;
+		if (scene != null) {
+			scene.nodeChanged(this, SceneChange.MATERIAL);
+		}
 	}
 
 	/**
@@ -119,14 +199,30 @@ public class SceneNode {
 	 */
 	public void setLight(Light light) {
 		this.light = light;
+		if (scene != null) {
+			scene.nodeChanged(this, SceneChange.LIGHT);
+		}
 	}
 
 	/**
-	 * Gets the transform.
+	 * Gets a snapshot of the transform. While the transform is held by the
+	 * node the snapshot is cached until the transform next changes, while it
+	 * is held by a transform store, which may be written in bulk, every call
+	 * assembles a new one.
 	 *
 	 * @return the transform
 	 */
 	public Transform getTransform() {
+		Transform transform = snapshot;
+		if (transform == null) {
+			transform = new Transform(
+					new Vector3f(component(0), component(1), component(2)),
+					new Vector3f(component(3), component(4), component(5)),
+					new Vector3f(component(6), component(7), component(8)));
+			if (store == null) {
+				snapshot = transform;
+			}
+		}
 		return transform;
 	}
 
@@ -136,6 +232,332 @@ public class SceneNode {
 	 * @param transform the new transform
 	 */
 	public void setTransform(Transform transform) {
-		this.transform = transform;
+		write(0, transform.position().x(), transform.position().y(), transform.position().z());
+		write(3, transform.rotation().x(), transform.rotation().y(), transform.rotation().z());
+		write(6, transform.scale().x(), transform.scale().y(), transform.scale().z());
+		changed(transform);
+	}
+
+	/**
+	 * Sets the position in place, without allocating.
+	 *
+	 * @param x the x
+	 * @param y the y
+	 * @param z the z
+	 */
+	public void setPosition(float x, float y, float z) {
+		write(0, x, y, z);
+		changed(null);
+	}
+
+	/**
+	 * Moves the position in place, without allocating.
+	 *
+	 * @param dx the x offset
+	 * @param dy the y offset
+	 * @param dz the z offset
+	 */
+	public void translate(float dx, float dy, float dz) {
+		write(0, component(0) + dx, component(1) + dy, component(2) + dz);
+		changed(null);
+	}
+
+	/**
+	 * Sets the rotation in place, without allocating.
+	 *
+	 * @param x the Euler angle about x, in radians
+	 * @param y the Euler angle about y, in radians
+	 * @param z the Euler angle about z, in radians
+	 */
+	public void setRotation(float x, float y, float z) {
+		write(3, x, y, z);
+		changed(null);
+	}
+
+	/**
+	 * Adds to the rotation in place, without allocating.
+	 *
+	 * @param dx the angle added about x, in radians
+	 * @param dy the angle added about y, in radians
+	 * @param dz the angle added about z, in radians
+	 */
+	public void rotate(float dx, float dy, float dz) {
+		write(3, component(3) + dx, component(4) + dy, component(5) + dz);
+		changed(null);
+	}
+
+	/**
+	 * Sets the scale in place, without allocating.
+	 *
+	 * @param x the x
+	 * @param y the y
+	 * @param z the z
+	 */
+	public void setScale(float x, float y, float z) {
+		write(6, x, y, z);
+		changed(null);
+	}
+
+	/**
+	 * Gets a component of the transform, without allocating.
+	 *
+	 * @param column the component
+	 * @return the value
+	 */
+	public float getTransformComponent(TransformStore.Column column) {
+		return component(column.ordinal());
+	}
+
+	/**
+	 * Writes three consecutive transform components.
+	 *
+	 * @param index the first component
+	 * @param x     the first value
+	 * @param y     the second value
+	 * @param z     the third value
+	 */
+	private void write(int index, float x, float y, float z) {
+		TransformStore store = this.store;
+		if (store == null) {
+			local[index] = x;
+			local[index + 1] = y;
+			local[index + 2] = z;
+		} else {
+			store.set(slot, index, x);
+			store.set(slot, index + 1, y);
+			store.set(slot, index + 2, z);
+		}
+	}
+
+	/**
+	 * Notifies the scene of a transform change.
+	 *
+	 * @param transform the new transform, cached as the snapshot if not null
+	 */
+	private void changed(Transform transform) {
+		this.snapshot = (store == null) ? transform : null;
+		if (scene != null) {
+			scene.transformChanged(this);
+		}
+	}
+
+	/**
+	 * Gets the radius of the bounding sphere around the transform position.
+	 *
+	 * @return the bounds radius
+	 */
+	public float getBoundsRadius() {
+		return boundsRadius;
+	}
+
+	/**
+	 * Sets the radius of the bounding sphere around the transform position,
+	 * used by the scene's spatial index.
+	 *
+	 * @param boundsRadius the new bounds radius
+	 */
+	public void setBoundsRadius(float boundsRadius) {
+		if (!(boundsRadius >= 0)) {
+			throw new IllegalArgumentException("Bounds radius must not be negative: " + boundsRadius);
+		}
+		this.boundsRadius = boundsRadius;
+		if (scene != null) {
+			scene.boundsChanged(this);
+		}
+	}
+
+	/**
+	 * Gets the parent.
+	 *
+	 * @return the parent, or null for a root node
+	 */
+	public SceneNode getParent() {
+		return parent;
+	}
+
+	/**
+	 * Gets the children.
+	 *
+	 * @return a read-only live view of the children
+	 */
+	public List<SceneNode> getChildren() {
+		return childrenView;
+	}
+
+	/**
+	 * Adds a child, detaching it from its previous parent. The child, with its
+	 * subtree, joins the scene of this node, leaving any other scene.
+	 *
+	 * @param child the child
+	 * @throws IllegalArgumentException if the child is this node or one of its
+	 *                                  ancestors
+	 */
+	public void addChild(SceneNode child) {
+		for (SceneNode n = this; n != null; n = n.parent) {
+			if (n == child) {
+				throw new IllegalArgumentException("Node " + child.id + " is an ancestor of " + id);
+			}
+		}
+		if (child.parent != null) {
+			child.parent.children.remove(child);
+			child.parent = null;
+		}
+		if (child.scene != scene && child.scene != null) {
+			child.scene.removeNode(child);
+		}
+		child.parent = this;
+		children.add(child);
+		if (scene != null) {
+			if (child.scene == null) {
+				scene.addSubtree(child);
+			} else {
+				scene.hierarchyChanged(child);
+			}
+		}
+	}
+
+	/**
+	 * Removes a child. The child stays in the scene as a root node.
+	 *
+	 * @param child the child
+	 * @return true, if the node was a child of this node
+	 */
+	public boolean removeChild(SceneNode child) {
+		if (child.parent != this) {
+			return false;
+		}
+		children.remove(child);
+		child.parent = null;
+		if (scene != null) {
+			scene.hierarchyChanged(child);
+		}
+		return true;
+	}
+
+	/**
+	 * Detaches the node from its parent, without notifying the scene.
+	 */
+	void unlink() {
+		if (parent != null) {
+			parent.children.remove(this);
+			parent = null;
+		}
+	}
+
+	/**
+	 * Copies the world matrix as of the scene's last world transform pass.
+	 *
+	 * @param dest the destination, at least 16 floats, column-major
+	 * @return the destination
+	 * @see Scene#updateWorldTransforms(java.util.concurrent.ForkJoinPool)
+	 */
+	public float[] getWorldMatrix(float[] dest) {
+		getWorldMatrix(dest, 0);
+		return dest;
+	}
+
+	/**
+	 * Copies the world matrix into an array at an offset.
+	 *
+	 * @param dest   the destination
+	 * @param offset the offset of the matrix in the destination
+	 */
+	void getWorldMatrix(float[] dest, int offset) {
+		System.arraycopy(world, 0, dest, offset, 16);
+	}
+
+	/**
+	 * Recomputes the world matrix from the local transform and the parent's
+	 * world matrix. Rotations are Euler angles in radians, applied about x, y
+	 * and then z.
+	 */
+	void computeWorld() {
+		float px = component(0), py = component(1), pz = component(2);
+		float rx = component(3), ry = component(4), rz = component(5);
+		float sx = component(6), sy = component(7), sz = component(8);
+		float cx = (float) Math.cos(rx), snx = (float) Math.sin(rx);
+		float cy = (float) Math.cos(ry), sny = (float) Math.sin(ry);
+		float cz = (float) Math.cos(rz), snz = (float) Math.sin(rz);
+
+		float l00 = cy * cz * sx, l10 = cy * snz * sx, l20 = -sny * sx;
+		float l01 = (cz * sny * snx - snz * cx) * sy, l11 = (snz * sny * snx + cz * cx) * sy, l21 = cy * snx * sy;
+		float l02 = (cz * sny * cx + snz * snx) * sz, l12 = (snz * sny * cx - cz * snx) * sz, l22 = cy * cx * sz;
+
+		float[] w = world;
+		float[] p = (parent == null) ? IDENTITY : parent.world;
+		for (int r = 0; r < 4; r++) {
+			float p0 = p[r], p1 = p[4 + r], p2 = p[8 + r], p3 = p[12 + r];
+			w[r] = p0 * l00 + p1 * l10 + p2 * l20;
+			w[4 + r] = p0 * l01 + p1 * l11 + p2 * l21;
+			w[8 + r] = p0 * l02 + p1 * l12 + p2 * l22;
+			w[12 + r] = p0 * px + p1 * py + p2 * pz + p3;
+		}
+		if (instanceGroup != null) {
+			instanceGroup.write(instanceIndex, w);
+		}
+	}
+
+	/**
+	 * Gets a component of the local transform without assembling a transform.
+	 *
+	 * @param index the component, in {@link TransformStore.Column} order
+	 * @return the value
+	 */
+	float component(int index) {
+		TransformStore store = this.store;
+		return (store == null) ? local[index] : store.get(slot, index);
+	}
+
+	/**
+	 * Gets a component of the position the scene's spatial index keys the node
+	 * on: the local position of a root node, the translation of the last
+	 * computed world matrix of a child.
+	 *
+	 * @param axis the axis, 0 to 2 for x, y and z
+	 * @return the position component
+	 */
+	float position(int axis) {
+		return (parent == null) ? component(axis) : world[12 + axis];
+	}
+
+	/**
+	 * Moves the transform into a store, making the node a handle to its slot.
+	 *
+	 * @param store the store
+	 */
+	void attach(TransformStore store) {
+		this.slot = store.acquire(local);
+		this.store = store;
+		this.local = null;
+		this.snapshot = null;
+	}
+
+	/**
+	 * Moves the transform back out of its store onto the heap.
+	 *
+	 * @param release whether to release the slot, false when the whole store is
+	 *                being cleared
+	 */
+	void detach(boolean release) {
+		if (store == null) {
+			return;
+		}
+		this.local = new float[9];
+		store.copy(slot, local);
+		if (release) {
+			store.release(slot);
+		}
+		this.store = null;
+		this.slot = -1;
+	}
+
+	/**
+	 * Gets the slot of the transform in the scene's transform store.
+	 *
+	 * @return the slot, or -1 when the transform is held by the node
+	 * @see Scene#transformStore()
+	 */
+	public int getTransformSlot() {
+		return slot;
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,153 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.scene;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A live membership list of the nodes of a {@link Scene} matching a filter.
+ * The scene re-evaluates the filter for a node only when the node is added,
+ * removed or changed, so a plugin iterates its matching set each frame instead
+ * of scanning and branching over every node.
+ * <p>
+ * Like the scene's node list, a query is updated by writers holding the
+ * scene's write lock, and read under its read lock. Member order is not
+ * preserved across removals.
+ * </p>
+ *
+ * @see Scene#query(Predicate)
+ * @see Scene#nodesWithMesh()
+ * @see Scene#nodesWithLight()
+ */
+public final class SceneQuery {
+
+	/** The scene. */
+	private final Scene scene;
+
+	/** The filter. */
+	private final Predicate<SceneNode> filter;
+
+	/** The members. */
+	private final List<SceneNode> members = new ArrayList<>();
+
+	/** The read-only view of the members. */
+	private final List<SceneNode> view = Collections.unmodifiableList(members);
+
+	/** The member indices, for constant time removal. */
+	private final Map<SceneNode, Integer> indices = new IdentityHashMap<>();
+
+	/**
+	 * Instantiates a new scene query.
+	 *
+	 * @param scene  the scene
+	 * @param filter the filter
+	 */
+	SceneQuery(Scene scene, Predicate<SceneNode> filter) {
+		this.scene = scene;
+		this.filter = filter;
+	}
+
+	/**
+	 * Re-evaluates the filter for a node added or changed.
+	 *
+	 * @param node the node
+	 */
+	void update(SceneNode node) {
+		boolean member = indices.containsKey(node);
+		if (filter.test(node)) {
+			if (!member) {
+				indices.put(node, members.size());
+				members.add(node);
+			}
+		} else if (member) {
+			remove(node);
+		}
+	}
+
+	/**
+	 * Removes a node, moving the last member into its place.
+	 *
+	 * @param node the node
+	 */
+	void remove(SceneNode node) {
+		Integer index = indices.remove(node);
+		if (index == null) {
+			return;
+		}
+		SceneNode last = members.remove(members.size() - 1);
+		if (last != node) {
+			members.set(index, last);
+			indices.put(last, index);
+		}
+	}
+
+	/**
+	 * Removes all members.
+	 */
+	void clear() {
+		members.clear();
+		indices.clear();
+	}
+
+	/**
+	 * Gets the matching nodes.
+	 *
+	 * @return a read-only live view of the members
+	 */
+	public List<SceneNode> nodes() {
+		return view;
+	}
+
+	/**
+	 * Gets the number of matching nodes.
+	 *
+	 * @return the size
+	 */
+	public int size() {
+		return members.size();
+	}
+
+	/**
+	 * Checks whether a node is a member.
+	 *
+	 * @param node the node
+	 * @return true, if the node matches
+	 */
+	public boolean contains(SceneNode node) {
+		return indices.containsKey(node);
+	}
+
+	/**
+	 * Stops maintaining the query. Shared queries of the scene cannot be
+	 * closed.
+	 */
+	public void close() {
+		scene.removeQuery(this);
+	}
+}
@@ -0,0 +1,266 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.scene;
+
+import java.util.Objects;
+
+import org.piengine.commons.math.Vector3D.Vector3f;
+
+/**
+ * Immutable version of the state of a {@link Scene}'s nodes, read without
+ * taking the scene lock.
+ * <p>
+ * Nodes are addressed by a slot that stays stable for as long as they belong
+ * to the scene. Slots are grouped in fixed size chunks, and a new version
+ * copies only the chunks holding nodes that changed, sharing every other chunk
+ * with the version before it. Versions are published atomically by the
+ * scene's app once per simulation step, so any number of readers can hold and
+ * read any version concurrently with the writers of the next.
+ * </p>
+ *
+ * @see Scene#useSnapshots()
+ * @see Scene#snapshot()
+ */
+public final class SceneSnapshot {
+
+	/** The slots per chunk, a power of 2. */
+	static final int CHUNK_SIZE = 256;
+
+	/** The chunk shift. */
+	static final int CHUNK_SHIFT = Integer.numberOfTrailingZeros(CHUNK_SIZE);
+
+	/** The number of transform components per slot. */
+	private static final int COMPONENTS = TransformStore.Column.values().length;
+
+	/**
+	 * A chunk of slots, never modified once published.
+	 */
+	static final class Chunk {
+
+		/** The ids, null for empty slots. */
+		final String[] ids;
+
+		/** The meshes. */
+		final String[] meshes;
+
+		/** The materials. */
+		final String[] materials;
+
+		/** The lights. */
+		final Light[] lights;
+
+		/** The transform components, {@link #COMPONENTS} per slot. */
+		final float[] transforms;
+
+		/**
+		 * Instantiates a new empty chunk.
+		 */
+		Chunk() {
+			this.ids = new String[CHUNK_SIZE];
+			this.meshes = new String[CHUNK_SIZE];
+			this.materials = new String[CHUNK_SIZE];
+			this.lights = new Light[CHUNK_SIZE];
+			this.transforms = new float[CHUNK_SIZE * COMPONENTS];
+		}
+
+		/**
+		 * Instantiates a copy of a chunk.
+		 *
+		 * @param other the chunk copied
+		 */
+		Chunk(Chunk other) {
+			this.ids = other.ids.clone();
+			this.meshes = other.meshes.clone();
+			this.materials = other.materials.clone();
+			this.lights = other.lights.clone();
+			this.transforms = other.transforms.clone();
+		}
+
+		/**
+		 * Copies the state of a node into a slot, or empties the slot.
+		 *
+		 * @param index the index of the slot in the chunk
+		 * @param node  the node, or null
+		 */
+		void capture(int index, SceneNode node) {
+			if (node == null) {
+				ids[index] = null;
+				meshes[index] = null;
+				materials[index] = null;
+				lights[index] = null;
+				return;
+			}
+			ids[index] = node.getId();
+			meshes[index] = node.getMesh();
+			materials[index] = node.getMaterial();
+			lights[index] = node.getLight();
+			for (int c = 0; c < COMPONENTS; c++) {
+				transforms[index * COMPONENTS + c] = node.component(c);
+			}
+		}
+	}
+
+	/** The empty snapshot. */
+	static final SceneSnapshot EMPTY = new SceneSnapshot(-1, new Chunk[0], 0, 0);
+
+	/** The scene version. */
+	private final long version;
+
+	/** The chunks. */
+	final Chunk[] chunks;
+
+	/** The number of slots. */
+	private final int slotCount;
+
+	/** The number of nodes. */
+	private final int nodeCount;
+
+	/**
+	 * Instantiates a new scene snapshot.
+	 *
+	 * @param version   the scene version
+	 * @param chunks    the chunks
+	 * @param slotCount the number of slots
+	 * @param nodeCount the number of nodes
+	 */
+	SceneSnapshot(long version, Chunk[] chunks, int slotCount, int nodeCount) {
+		this.version = version;
+		this.chunks = chunks;
+		this.slotCount = slotCount;
+		this.nodeCount = nodeCount;
+	}
+
+	/**
+	 * Gets the scene version the snapshot was taken at.
+	 *
+	 * @return the version, -1 before the first publish
+	 */
+	public long version() {
+		return version;
+	}
+
+	/**
+	 * Gets the number of slots, including empty ones.
+	 *
+	 * @return the slot count
+	 */
+	public int slotCount() {
+		return slotCount;
+	}
+
+	/**
+	 * Gets the number of nodes.
+	 *
+	 * @return the node count
+	 */
+	public int nodeCount() {
+		return nodeCount;
+	}
+
+	/**
+	 * Checks whether a slot holds a node.
+	 *
+	 * @param slot the slot
+	 * @return true, if a node is present
+	 */
+	public boolean isPresent(int slot) {
+		return id(slot) != null;
+	}
+
+	/**
+	 * Gets the id of the node in a slot.
+	 *
+	 * @param slot the slot
+	 * @return the id, or null for an empty slot
+	 */
+	public String id(int slot) {
+		return chunk(slot).ids[slot & (CHUNK_SIZE - 1)];
+	}
+
+	/**
+	 * Gets the mesh of the node in a slot.
+	 *
+	 * @param slot the slot
+	 * @return the mesh, or null
+	 */
+	public String mesh(int slot) {
+		return chunk(slot).meshes[slot & (CHUNK_SIZE - 1)];
+	}
+
+	/**
+	 * Gets the material of the node in a slot.
+	 *
+	 * @param slot the slot
+	 * @return the material, or null
+	 */
+	public String material(int slot) {
+		return chunk(slot).materials[slot & (CHUNK_SIZE - 1)];
+	}
+
+	/**
+	 * Gets the light of the node in a slot.
+	 *
+	 * @param slot the slot
+	 * @return the light, or null
+	 */
+	public Light light(int slot) {
+		return chunk(slot).lights[slot & (CHUNK_SIZE - 1)];
+	}
+
+	/**
+	 * Gets a component of the transform of the node in a slot.
+	 *
+	 * @param slot   the slot
+	 * @param column the component
+	 * @return the value
+	 */
+	public float transform(int slot, TransformStore.Column column) {
+		return chunk(slot).transforms[(slot & (CHUNK_SIZE - 1)) * COMPONENTS + column.ordinal()];
+	}
+
+	/**
+	 * Assembles the transform of the node in a slot.
+	 *
+	 * @param slot the slot
+	 * @return the transform
+	 */
+	public Transform transform(int slot) {
+		float[] t = chunk(slot).transforms;
+		int base = (slot & (CHUNK_SIZE - 1)) * COMPONENTS;
+		return new Transform(
+				new Vector3f(t[base], t[base + 1], t[base + 2]),
+				new Vector3f(t[base + 3], t[base + 4], t[base + 5]),
+				new Vector3f(t[base + 6], t[base + 7], t[base + 8]));
+	}
+
+	/**
+	 * Gets the chunk of a slot.
+	 *
+	 * @param slot the slot
+	 * @return the chunk
+	 */
+	private Chunk chunk(int slot) {
+		return chunks[Objects.checkIndex(slot, slotCount) >>> CHUNK_SHIFT];
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.scene;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.piengine.core.scene.SceneSnapshot.Chunk;
+
+/**
+ * Assigns snapshot slots to the nodes of a scene, tracks the slots changed
+ * since the last publish, and publishes new {@link SceneSnapshot} versions
+ * that copy only the changed chunks. Driven by the scene's writers.
+ */
+final class SnapshotPublisher {
+
+	/** The latest snapshot. */
+	private final AtomicReference<SceneSnapshot> latest = new AtomicReference<>(SceneSnapshot.EMPTY);
+
+	/** The node in each slot. */
+	private SceneNode[] slots = new SceneNode[SceneSnapshot.CHUNK_SIZE];
+
+	/** The number of slots ever handed out. */
+	private int limit;
+
+	/** The released slots. */
+	private int[] free = new int[16];
+
+	/** The number of released slots. */
+	private int freeCount;
+
+	/** The number of nodes. */
+	private int nodeCount;
+
+	/** The slots changed since the last publish. */
+	private final BitSet dirty = new BitSet();
+
+	/**
+	 * Assigns a slot to a node added to the scene.
+	 *
+	 * @param node the node
+	 */
+	void add(SceneNode node) {
+		int slot;
+		if (freeCount > 0) {
+			slot = free[--freeCount];
+		} else {
+			if (limit == slots.length) {
+				slots = Arrays.copyOf(slots, slots.length * 2);
+			}
+			slot = limit++;
+		}
+		slots[slot] = node;
+		node.snapshotSlot = slot;
+		nodeCount++;
+		dirty.set(slot);
+	}
+
+	/**
+	 * Releases the slot of a node removed from the scene.
+	 *
+	 * @param node the node
+	 */
+	void remove(SceneNode node) {
+		int slot = node.snapshotSlot;
+		if (slot < 0) {
+			return;
+		}
+		slots[slot] = null;
+		node.snapshotSlot = -1;
+		if (freeCount == free.length) {
+			free = Arrays.copyOf(free, free.length * 2);
+		}
+		free[freeCount++] = slot;
+		nodeCount--;
+		dirty.set(slot);
+	}
+
+	/**
+	 * Marks the slot of a changed node.
+	 *
+	 * @param node the node
+	 */
+	void changed(SceneNode node) {
+		if (node.snapshotSlot >= 0) {
+			dirty.set(node.snapshotSlot);
+		}
+	}
+
+	/**
+	 * Empties every slot.
+	 */
+	void clear() {
+		for (int i = 0; i < limit; i++) {
+			if (slots[i] != null) {
+				slots[i].snapshotSlot = -1;
+				slots[i] = null;
+			}
+		}
+		dirty.set(0, limit);
+		freeCount = 0;
+		for (int i = limit - 1; i >= 0; i--) {
+			if (freeCount == free.length) {
+				free = Arrays.copyOf(free, free.length * 2);
+			}
+			free[freeCount++] = i;
+		}
+		nodeCount = 0;
+	}
+
+	/**
+	 * Publishes a new version, copying the chunks of the changed slots and
+	 * sharing all others with the previous version.
+	 *
+	 * @param version the scene version
+	 */
+	void publish(long version) {
+		SceneSnapshot previous = latest.get();
+		int chunkCount = (limit + SceneSnapshot.CHUNK_SIZE - 1) >>> SceneSnapshot.CHUNK_SHIFT;
+		Chunk[] chunks = Arrays.copyOf(previous.chunks, chunkCount);
+		int copied = -1;
+		for (int slot = dirty.nextSetBit(0); slot >= 0 && slot < limit; slot = dirty.nextSetBit(slot + 1)) {
+			int index = slot >>> SceneSnapshot.CHUNK_SHIFT;
+			if (index != copied) {
+				chunks[index] = (chunks[index] == null) ? new Chunk() : new Chunk(chunks[index]);
+				copied = index;
+			}
+			chunks[index].capture(slot & (SceneSnapshot.CHUNK_SIZE - 1), slots[slot]);
+		}
+		dirty.clear();
+		latest.set(new SceneSnapshot(version, chunks, limit, nodeCount));
+	}
+
+	/**
+	 * Gets the latest published snapshot.
+	 *
+	 * @return the snapshot
+	 */
+	SceneSnapshot latest() {
+		return latest.get();
+	}
+}
@@ -0,0 +1,589 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.scene;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Loose octree over the nodes of a {@link Scene}, keyed on the position of
+ * each node's transform plus its {@link SceneNode#getBoundsRadius() bounds
+ * radius}, for sub-linear range, nearest neighbour and frustum queries.
+ * <p>
+ * A node is kept in the deepest cell whose half size is at least its bounds
+ * radius and whose tight bounds contain its position. Cells are loose, their
+ * bounds are twice their tight size, so a node never overlaps the loose bounds
+ * of its cell and moving within the tight bounds costs nothing. Nodes outside
+ * the root extent are kept in the root. The index is updated incrementally as
+ * nodes are added, removed and moved, child nodes by their world position once
+ * the scene's world transform pass ran, and follows the scene's locking
+ * contract: it is maintained by the scene's writers and queried by readers.
+ * </p>
+ *
+ * @see Scene#useSpatialIndex(float)
+ */
+public final class SpatialIndex {
+
+	/**
+	 * A cell of the octree.
+	 */
+	static final class Cell {
+
+		/** The parent. */
+		final Cell parent;
+
+		/** The depth. */
+		final int depth;
+
+		/** The tight bounds center. */
+		final float cx, cy, cz;
+
+		/** The tight bounds half size. */
+		final float half;
+
+		/** The children, created on demand. */
+		final Cell[] children = new Cell[8];
+
+		/** The nodes kept in this cell. */
+		final List<SceneNode> nodes = new ArrayList<>();
+
+		/** The number of nodes in this cell and its descendants. */
+		int count;
+
+		/**
+		 * Instantiates a new cell.
+		 *
+		 * @param parent the parent
+		 * @param depth  the depth
+		 * @param cx     the center x
+		 * @param cy     the center y
+		 * @param cz     the center z
+		 * @param half   the half size
+		 */
+		Cell(Cell parent, int depth, float cx, float cy, float cz, float half) {
+			this.parent = parent;
+			this.depth = depth;
+			this.cx = cx;
+			this.cy = cy;
+			this.cz = cz;
+			this.half = half;
+		}
+
+		/**
+		 * Gets the child octant containing a point.
+		 *
+		 * @param x the x
+		 * @param y the y
+		 * @param z the z
+		 * @return the octant
+		 */
+		int octant(float x, float y, float z) {
+			return ((x >= cx) ? 1 : 0) | ((y >= cy) ? 2 : 0) | ((z >= cz) ? 4 : 0);
+		}
+
+		/**
+		 * Checks if the tight bounds contain a point.
+		 *
+		 * @param x the x
+		 * @param y the y
+		 * @param z the z
+		 * @return true, if contained
+		 */
+		boolean contains(float x, float y, float z) {
+			return Math.abs(x - cx) <= half && Math.abs(y - cy) <= half && Math.abs(z - cz) <= half;
+		}
+
+		/**
+		 * Gets the squared distance from a point to the tight bounds.
+		 *
+		 * @param x the x
+		 * @param y the y
+		 * @param z the z
+		 * @return the squared distance, 0 inside
+		 */
+		float distanceSquared(float x, float y, float z) {
+			float dx = Math.max(0, Math.abs(x - cx) - half);
+			float dy = Math.max(0, Math.abs(y - cy) - half);
+			float dz = Math.max(0, Math.abs(z - cz) - half);
+			return dx * dx + dy * dy + dz * dz;
+		}
+	}
+
+	/**
+	 * Min-heap of the cells and nodes pending in a nearest neighbour search,
+	 * keyed by squared distance, a lower bound for cells. The keys and entries
+	 * are parallel arrays reused from query to query by the querying thread,
+	 * so searches allocate nothing once the arrays have grown.
+	 */
+	private static final class NearestHeap {
+
+		/** The squared distances. */
+		private float[] keys = new float[64];
+
+		/** The cells and nodes. */
+		private Object[] entries = new Object[64];
+
+		/** The size. */
+		private int size;
+
+		/**
+		 * Adds a cell or node.
+		 *
+		 * @param key   the squared distance
+		 * @param entry the cell or node
+		 */
+		void push(float key, Object entry) {
+			if (size == keys.length) {
+				keys = Arrays.copyOf(keys, size * 2);
+				entries = Arrays.copyOf(entries, size * 2);
+			}
+			int i = size++;
+			while (i > 0) {
+				int parent = (i - 1) >>> 1;
+				if (keys[parent] <= key) {
+					break;
+				}
+				keys[i] = keys[parent];
+				entries[i] = entries[parent];
+				i = parent;
+			}
+			keys[i] = key;
+			entries[i] = entry;
+		}
+
+		/**
+		 * Removes the nearest cell or node.
+		 *
+		 * @return the cell or node
+		 */
+		Object pop() {
+			Object top = entries[0];
+			int last = --size;
+			float key = keys[last];
+			Object entry = entries[last];
+			entries[last] = null;
+			int i = 0;
+			int child;
+			while ((child = 2 * i + 1) < last) {
+				if (child + 1 < last && keys[child + 1] < keys[child]) {
+					child++;
+				}
+				if (key <= keys[child]) {
+					break;
+				}
+				keys[i] = keys[child];
+				entries[i] = entries[child];
+				i = child;
+			}
+			if (last > 0) {
+				keys[i] = key;
+				entries[i] = entry;
+			}
+			return top;
+		}
+
+		/**
+		 * Checks if empty.
+		 *
+		 * @return true, if empty
+		 */
+		boolean isEmpty() {
+			return size == 0;
+		}
+
+		/**
+		 * Removes all entries, releasing the nodes.
+		 */
+		void clear() {
+			Arrays.fill(entries, 0, size, null);
+			size = 0;
+		}
+	}
+
+	/** The nearest neighbour heap of each querying thread. */
+	private static final ThreadLocal<NearestHeap> NEAREST = ThreadLocal.withInitial(NearestHeap::new);
+
+	/** The deepest level of the tree. */
+	private static final int MAX_DEPTH = 10;
+
+	/** The root cell. */
+	private final Cell root;
+
+	/** The number of nodes. */
+	private int size;
+
+	/**
+	 * Instantiates a new spatial index.
+	 *
+	 * @param extent the half size of the root, around the origin
+	 */
+	SpatialIndex(float extent) {
+		if (!(extent > 0)) {
+			throw new IllegalArgumentException("Extent must be positive: " + extent);
+		}
+		this.root = new Cell(null, 0, 0, 0, 0, extent);
+	}
+
+	/**
+	 * Inserts a node.
+	 *
+	 * @param node the node
+	 */
+	void insert(SceneNode node) {
+		place(node, locate(node));
+		size++;
+	}
+
+	/**
+	 * Removes a node.
+	 *
+	 * @param node the node
+	 */
+	void remove(SceneNode node) {
+		if (node.spatialCell != null) {
+			unplace(node);
+			size--;
+		}
+	}
+
+	/**
+	 * Moves a node whose position or bounds changed, if it left its cell.
+	 *
+	 * @param node the node
+	 */
+	void update(SceneNode node) {
+		Cell cell = node.spatialCell;
+		if (cell == null) {
+			return;
+		}
+		float x = node.position(0), y = node.position(1), z = node.position(2);
+		if (cell != root && cell.contains(x, y, z) && depthFor(node.getBoundsRadius()) == cell.depth) {
+			return;
+		}
+		unplace(node);
+		place(node, locate(node));
+	}
+
+	/**
+	 * Re-evaluates the cells of all nodes at their current positions. After
+	 * bulk writes through the scene's {@link TransformStore}, call
+	 * {@link Scene#transformsWritten()} instead, which also recomputes the
+	 * world positions child nodes are indexed by.
+	 */
+	public void refresh() {
+		List<SceneNode> moved = new ArrayList<>();
+		collect(root, moved);
+		for (int i = 0; i < moved.size(); i++) {
+			update(moved.get(i));
+		}
+	}
+
+	/**
+	 * Removes all nodes.
+	 */
+	void clear() {
+		List<SceneNode> all = new ArrayList<>();
+		collect(root, all);
+		for (int i = 0; i < all.size(); i++) {
+			all.get(i).spatialCell = null;
+		}
+		root.nodes.clear();
+		Arrays.fill(root.children, null);
+		root.count = 0;
+		size = 0;
+	}
+
+	/**
+	 * Gets the depth at which a bounds radius fits the cells.
+	 *
+	 * @param radius the radius
+	 * @return the depth
+	 */
+	private int depthFor(float radius) {
+		int depth = 0;
+		float half = root.half;
+		while (depth < MAX_DEPTH && radius <= half * 0.5f) {
+			half *= 0.5f;
+			depth++;
+		}
+		return depth;
+	}
+
+	/**
+	 * Finds, creating as needed, the cell a node belongs to.
+	 *
+	 * @param node the node
+	 * @return the cell
+	 */
+	private Cell locate(SceneNode node) {
+		float x = node.position(0), y = node.position(1), z = node.position(2);
+		if (!root.contains(x, y, z)) {
+			return root;
+		}
+		int depth = depthFor(node.getBoundsRadius());
+		Cell cell = root;
+		while (cell.depth < depth) {
+			int octant = cell.octant(x, y, z);
+			Cell child = cell.children[octant];
+			if (child == null) {
+				float h = cell.half * 0.5f;
+				child = cell.children[octant] = new Cell(cell, cell.depth + 1,
+						cell.cx + (((octant & 1) != 0) ? h : -h),
+						cell.cy + (((octant & 2) != 0) ? h : -h),
+						cell.cz + (((octant & 4) != 0) ? h : -h),
+						h);
+			}
+			cell = child;
+		}
+		return cell;
+	}
+
+	/**
+	 * Adds a node to a cell.
+	 *
+	 * @param node the node
+	 * @param cell the cell
+	 */
+	private void place(SceneNode node, Cell cell) {
+		node.spatialCell = cell;
+		node.spatialSlot = cell.nodes.size();
+		cell.nodes.add(node);
+		for (Cell c = cell; c != null; c = c.parent) {
+			c.count++;
+		}
+	}
+
+	/**
+	 * Removes a node from its cell, pruning cells left empty.
+	 *
+	 * @param node the node
+	 */
+	private void unplace(SceneNode node) {
+		Cell cell = node.spatialCell;
+		SceneNode last = cell.nodes.remove(cell.nodes.size() - 1);
+		if (last != node) {
+			cell.nodes.set(node.spatialSlot, last);
+			last.spatialSlot = node.spatialSlot;
+		}
+		node.spatialCell = null;
+		for (Cell c = cell; c != null; c = c.parent) {
+			if (--c.count == 0 && c.parent != null) {
+				c.parent.children[c.parent.octant(c.cx, c.cy, c.cz)] = null;
+			}
+		}
+	}
+
+	/**
+	 * Collects the nodes of a subtree.
+	 *
+	 * @param cell   the cell
+	 * @param result the result
+	 */
+	private static void collect(Cell cell, List<SceneNode> result) {
+		result.addAll(cell.nodes);
+		for (Cell child : cell.children) {
+			if (child != null) {
+				collect(child, result);
+			}
+		}
+	}
+
+	/**
+	 * Finds the nodes whose bounds intersect a sphere.
+	 *
+	 * @param x      the sphere center x
+	 * @param y      the sphere center y
+	 * @param z      the sphere center z
+	 * @param radius the sphere radius
+	 * @param result the list the nodes are added to
+	 * @return the number of nodes found
+	 */
+	public int range(float x, float y, float z, float radius, List<SceneNode> result) {
+		int before = result.size();
+		range(root, x, y, z, radius, result);
+		return result.size() - before;
+	}
+
+	/**
+	 * Range query of a subtree.
+	 *
+	 * @param cell   the cell
+	 * @param x      the x
+	 * @param y      the y
+	 * @param z      the z
+	 * @param radius the radius
+	 * @param result the result
+	 */
+	private static void range(Cell cell, float x, float y, float z, float radius, List<SceneNode> result) {
+		for (int i = 0; i < cell.nodes.size(); i++) {
+			SceneNode node = cell.nodes.get(i);
+			float dx = node.position(0) - x, dy = node.position(1) - y, dz = node.position(2) - z;
+			float reach = radius + node.getBoundsRadius();
+			if (dx * dx + dy * dy + dz * dz <= reach * reach) {
+				result.add(node);
+			}
+		}
+		for (Cell child : cell.children) {
+			if (child == null) {
+				continue;
+			}
+			float dx = Math.max(0, Math.abs(x - child.cx) - 2 * child.half);
+			float dy = Math.max(0, Math.abs(y - child.cy) - 2 * child.half);
+			float dz = Math.max(0, Math.abs(z - child.cz) - 2 * child.half);
+			if (dx * dx + dy * dy + dz * dz <= radius * radius) {
+				range(child, x, y, z, radius, result);
+			}
+		}
+	}
+
+	/**
+	 * Finds the nodes whose positions are nearest to a point.
+	 *
+	 * @param x      the x
+	 * @param y      the y
+	 * @param z      the z
+	 * @param k      the number of nodes to find
+	 * @param result the list the nodes are added to, nearest first
+	 * @return the number of nodes found
+	 */
+	public int nearest(float x, float y, float z, int k, List<SceneNode> result) {
+		int found = 0;
+		NearestHeap heap = NEAREST.get();
+		heap.push(0, root);
+		try {
+			while (found < k && !heap.isEmpty()) {
+				Object next = heap.pop();
+				if (next instanceof SceneNode node) {
+					result.add(node);
+					found++;
+					continue;
+				}
+				Cell cell = (Cell) next;
+				for (int i = 0; i < cell.nodes.size(); i++) {
+					SceneNode node = cell.nodes.get(i);
+					float dx = node.position(0) - x, dy = node.position(1) - y, dz = node.position(2) - z;
+					heap.push(dx * dx + dy * dy + dz * dz, node);
+				}
+				for (Cell child : cell.children) {
+					if (child != null) {
+						heap.push(child.distanceSquared(x, y, z), child);
+					}
+				}
+			}
+		} finally {
+			heap.clear();
+		}
+		return found;
+	}
+
+	/**
+	 * Finds the nodes whose bounds are at least partly inside a frustum.
+	 *
+	 * @param planes the frustum planes, 4 floats (a, b, c, d) each with a
+	 *               normalized normal pointing inside, so that a point is inside
+	 *               when {@code a*x + b*y + c*z + d >= 0}
+	 * @param result the list the nodes are added to
+	 * @return the number of nodes found
+	 */
+	public int frustum(float[] planes, List<SceneNode> result) {
+		if (planes.length % 4 != 0) {
+			throw new IllegalArgumentException("Planes must be 4 floats each: " + planes.length);
+		}
+		int before = result.size();
+		frustum(root, planes, true, result);
+		return result.size() - before;
+	}
+
+	/**
+	 * Frustum query of a subtree.
+	 *
+	 * @param cell   the cell
+	 * @param planes the planes
+	 * @param test   whether the cell's nodes need testing, false once the cell
+	 *               is known to be fully inside
+	 * @param result the result
+	 */
+	private static void frustum(Cell cell, float[] planes, boolean test, List<SceneNode> result) {
+		for (int i = 0; i < cell.nodes.size(); i++) {
+			SceneNode node = cell.nodes.get(i);
+			if (!test || sphereVisible(planes, node.position(0), node.position(1), node.position(2), node.getBoundsRadius())) {
+				result.add(node);
+			}
+		}
+		for (Cell child : cell.children) {
+			if (child == null) {
+				continue;
+			}
+			boolean inside = true;
+			if (test) {
+				float h = 2 * child.half;
+				int p = 0;
+				for (; p < planes.length; p += 4) {
+					float distance = planes[p] * child.cx + planes[p + 1] * child.cy + planes[p + 2] * child.cz + planes[p + 3];
+					float extent = h * (Math.abs(planes[p]) + Math.abs(planes[p + 1]) + Math.abs(planes[p + 2]));
+					if (distance < -extent) {
+						break;
+					}
+					if (distance < extent) {
+						inside = false;
+					}
+				}
+				if (p < planes.length) {
+					continue;
+				}
+			}
+			frustum(child, planes, test && !inside, result);
+		}
+	}
+
+	/**
+	 * Checks a sphere against frustum planes, as {@link #frustum(float[], List)}
+	 * checks the bounds of each node.
+	 *
+	 * @param planes the planes, as for {@link #frustum(float[], List)}
+	 * @param x      the x
+	 * @param y      the y
+	 * @param z      the z
+	 * @param radius the radius
+	 * @return true, if not fully outside any plane
+	 */
+	public static boolean sphereVisible(float[] planes, float x, float y, float z, float radius) {
+		for (int p = 0; p < planes.length; p += 4) {
+			if (planes[p] * x + planes[p + 1] * y + planes[p + 2] * z + planes[p + 3] < -radius) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Gets the number of nodes.
+	 *
+	 * @return the size
+	 */
+	public int size() {
+		return size;
+	}
+}
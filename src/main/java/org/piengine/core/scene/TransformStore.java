@@ -0,0 +1,312 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.scene;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Off-heap storage of the transforms of a {@link Scene}'s nodes, in
+ * struct-of-arrays layout. Every transform component is a contiguous column of
+ * floats in native memory, indexed by the slot of a node, so bulk passes over
+ * positions, rotations or scales walk sequential memory, are open to
+ * vectorization, and leave no per-node objects for the garbage collector to
+ * trace.
+ * <p>
+ * Nodes of a scene using a store are handles: their transforms live in the
+ * store while they belong to the scene, and {@link SceneNode#getTransform()}
+ * returns a new snapshot assembled from the columns. Slots of removed nodes are
+ * reused. The store follows the scene's locking contract, it is written only
+ * by the scene's writers.
+ * </p>
+ *
+ * @see Scene#useTransformStore(int)
+ */
+public final class TransformStore {
+
+	/**
+	 * The columns of the store.
+	 */
+	public enum Column {
+
+		/** The position x. */
+		POSITION_X,
+
+		/** The position y. */
+		POSITION_Y,
+
+		/** The position z. */
+		POSITION_Z,
+
+		/** The rotation x. */
+		ROTATION_X,
+
+		/** The rotation y. */
+		ROTATION_Y,
+
+		/** The rotation z. */
+		ROTATION_Z,
+
+		/** The scale x. */
+		SCALE_X,
+
+		/** The scale y. */
+		SCALE_Y,
+
+		/** The scale z. */
+		SCALE_Z
+	}
+
+	/** The number of columns. */
+	private static final int COLUMNS = Column.values().length;
+
+	/** The float layout of a column element. */
+	private static final ValueLayout.OfFloat FLOAT = ValueLayout.JAVA_FLOAT;
+
+	/** The arena, columns are freed once unreachable. */
+	private final Arena arena = Arena.ofAuto();
+
+	/** The columns. */
+	private MemorySegment[] columns;
+
+	/** The capacity in slots. */
+	private int capacity;
+
+	/** The number of slots ever handed out. */
+	private int limit;
+
+	/** The released slots. */
+	private int[] free = new int[16];
+
+	/** The number of released slots. */
+	private int freeCount;
+
+	/**
+	 * Instantiates a new transform store.
+	 *
+	 * @param initialCapacity the initial capacity in slots
+	 */
+	TransformStore(int initialCapacity) {
+		this.capacity = Math.max(16, initialCapacity);
+		this.columns = allocate(capacity);
+	}
+
+	/**
+	 * Allocates a set of columns.
+	 *
+	 * @param slots the slots per column
+	 * @return the columns
+	 */
+	private MemorySegment[] allocate(int slots) {
+		MemorySegment[] segments = new MemorySegment[COLUMNS];
+		for (int c = 0; c < COLUMNS; c++) {
+			segments[c] = arena.allocate(FLOAT.byteSize() * slots, FLOAT.byteAlignment());
+		}
+		return segments;
+	}
+
+	/**
+	 * Acquires a slot holding a transform.
+	 *
+	 * @param values the initial transform components, in column order
+	 * @return the slot
+	 */
+	int acquire(float[] values) {
+		int slot;
+		if (freeCount > 0) {
+			slot = free[--freeCount];
+		} else {
+			if (limit == capacity) {
+				grow(capacity * 2);
+			}
+			slot = limit++;
+		}
+		MemorySegment[] c = columns;
+		for (int i = 0; i < COLUMNS; i++) {
+			c[i].setAtIndex(FLOAT, slot, values[i]);
+		}
+		return slot;
+	}
+
+	/**
+	 * Releases a slot for reuse.
+	 *
+	 * @param slot the slot
+	 */
+	void release(int slot) {
+		if (freeCount == free.length) {
+			free = Arrays.copyOf(free, free.length * 2);
+		}
+		free[freeCount++] = slot;
+	}
+
+	/**
+	 * Releases all slots.
+	 */
+	void clear() {
+		limit = 0;
+		freeCount = 0;
+	}
+
+	/**
+	 * Grows the columns, copying the slots in use.
+	 *
+	 * @param slots the new capacity
+	 */
+	private void grow(int slots) {
+		MemorySegment[] grown = allocate(slots);
+		long bytes = FLOAT.byteSize() * limit;
+		for (int c = 0; c < COLUMNS; c++) {
+			MemorySegment.copy(columns[c], 0, grown[c], 0, bytes);
+		}
+		this.columns = grown;
+		this.capacity = slots;
+	}
+
+	/**
+	 * Gets a component of the transform in a slot.
+	 *
+	 * @param slot   the slot
+	 * @param column the column
+	 * @return the value
+	 */
+	public float get(int slot, Column column) {
+		return columns[column.ordinal()].getAtIndex(FLOAT, checkSlot(slot));
+	}
+
+	/**
+	 * Sets a component of the transform in a slot.
+	 *
+	 * @param slot   the slot
+	 * @param column the column
+	 * @param value  the value
+	 */
+	public void set(int slot, Column column, float value) {
+		columns[column.ordinal()].setAtIndex(FLOAT, checkSlot(slot), value);
+	}
+
+	/**
+	 * Gets a component of the transform in a slot, by column ordinal.
+	 *
+	 * @param slot   the slot
+	 * @param column the column ordinal
+	 * @return the value
+	 */
+	float get(int slot, int column) {
+		return columns[column].getAtIndex(FLOAT, slot);
+	}
+
+	/**
+	 * Sets a component of the transform in a slot, by column ordinal.
+	 *
+	 * @param slot   the slot
+	 * @param column the column ordinal
+	 * @param value  the value
+	 */
+	void set(int slot, int column, float value) {
+		columns[column].setAtIndex(FLOAT, slot, value);
+	}
+
+	/**
+	 * Copies the transform in a slot.
+	 *
+	 * @param slot the slot
+	 * @param dest the destination for the components, in column order
+	 */
+	void copy(int slot, float[] dest) {
+		MemorySegment[] c = columns;
+		for (int i = 0; i < COLUMNS; i++) {
+			dest[i] = c[i].getAtIndex(FLOAT, slot);
+		}
+	}
+
+	/**
+	 * Gets a column for bulk access. Covers every slot handed out, including
+	 * released ones, whose values are meaningless. The segment is only valid
+	 * until the store next grows, when nodes are added. Writes through it are
+	 * not seen by the scene until {@link Scene#transformsWritten()} is called.
+	 *
+	 * @param column the column
+	 * @return the column segment of {@link #limit()} floats
+	 */
+	public MemorySegment column(Column column) {
+		return columns[column.ordinal()].asSlice(0, FLOAT.byteSize() * limit);
+	}
+
+	/**
+	 * Adds a value to every slot of a column, such as to translate or scale all
+	 * of the scene's nodes at once. Bulk writes are not seen by the scene: the
+	 * caller must call {@link Scene#transformsWritten()} afterwards to refresh
+	 * its changed transforms, world transforms and spatial index.
+	 *
+	 * @param column the column
+	 * @param delta  the value to add
+	 */
+	public void add(Column column, float delta) {
+		MemorySegment segment = columns[column.ordinal()];
+		for (long i = 0; i < limit; i++) {
+			segment.setAtIndex(FLOAT, i, segment.getAtIndex(FLOAT, i) + delta);
+		}
+	}
+
+	/**
+	 * Gets the number of slots handed out, the length of every column.
+	 *
+	 * @return the limit
+	 */
+	public int limit() {
+		return limit;
+	}
+
+	/**
+	 * Gets the number of slots in use.
+	 *
+	 * @return the size
+	 */
+	public int size() {
+		return limit - freeCount;
+	}
+
+	/**
+	 * Gets the capacity before the columns next grow.
+	 *
+	 * @return the capacity
+	 */
+	public int capacity() {
+		return capacity;
+	}
+
+	/**
+	 * Checks a slot against the slots handed out.
+	 *
+	 * @param slot the slot
+	 * @return the slot
+	 */
+	private long checkSlot(int slot) {
+		return Objects.checkIndex(slot, limit);
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.scene;
+
+import java.util.List;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Recomputes the world matrices of a range of independent subtrees, splitting
+ * wide ranges, and wide sets of children, into parallel tasks.
+ */
+final class WorldTransformPass extends RecursiveAction {
+
+	/** The serial version UID. */
+	private static final long serialVersionUID = 1L;
+
+	/** The number of subtrees below which a range is not split. */
+	private static final int SPLIT_THRESHOLD = 64;
+
+	/** The subtree roots. */
+	private final List<SceneNode> roots;
+
+	/** The start of the range. */
+	private final int from;
+
+	/** The end of the range. */
+	private final int to;
+
+	/**
+	 * Instantiates a new world transform pass.
+	 *
+	 * @param roots the subtree roots
+	 * @param from  the start of the range, inclusive
+	 * @param to    the end of the range, exclusive
+	 */
+	WorldTransformPass(List<SceneNode> roots, int from, int to) {
+		this.roots = roots;
+		this.from = from;
+		this.to = to;
+	}
+
+	/**
+	 * @see java.util.concurrent.RecursiveAction#compute()
+	 */
+	@Override
+	protected void compute() {
+		if (to - from > SPLIT_THRESHOLD) {
+			int mid = (from + to) >>> 1;
+			invokeAll(new WorldTransformPass(roots, from, mid), new WorldTransformPass(roots, mid, to));
+			return;
+		}
+		for (int i = from; i < to; i++) {
+			SceneNode node = roots.get(i);
+			node.computeWorld();
+			if (!node.children.isEmpty()) {
+				new WorldTransformPass(node.children, 0, node.children.size()).compute();
+			}
+		}
+	}
+}
@@ -0,0 +1,280 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.piengine.core.app.App;
+import org.piengine.core.app.AppStatus;
+import org.piengine.core.plugin.Plugin;
+import org.piengine.core.scene.Scene;
+
+/**
+ * Tests the batched lifecycle commands of {@link AbstractEngine}.
+ */
+class AbstractEngineTest {
+
+    /**
+	 * Engine without a core.
+	 */
+    private static final class TestEngine extends AbstractEngine {
+
+        @Override
+        protected Void initializeCore() {
+            return null;
+        }
+
+        /**
+		 * Queues commands into one batch and applies it with a step.
+		 *
+		 * @param submits queues the commands
+		 */
+        void batch(Runnable submits) {
+            isRunning = true;
+            submits.run();
+            isRunning = false;
+            step(0.01f);
+        }
+    }
+
+    /**
+	 * App counting its updates.
+	 */
+    private static final class TestApp implements App {
+
+        private volatile AppStatus status = AppStatus.UNINITIALIZED;
+
+        private int starts;
+
+        private int updates;
+
+        @Override
+        public void initialize() {
+            status = AppStatus.INITIALIZED;
+        }
+
+        @Override
+        public void start() {
+            starts++;
+            status = AppStatus.RUNNING;
+        }
+
+        @Override
+        public void update(float deltaTime) {
+            updates++;
+        }
+
+        @Override
+        public void pause() {
+            status = AppStatus.PAUSED;
+        }
+
+        @Override
+        public void unpause() {
+            status = AppStatus.RUNNING;
+        }
+
+        @Override
+        public void stop() {
+            status = AppStatus.STOPPED;
+        }
+
+        @Override
+        public void cleanup() {
+            status = AppStatus.UNINITIALIZED;
+        }
+
+        @Override
+        public Scene getScene() {
+            return null;
+        }
+
+        @Override
+        public AppStatus getStatus() {
+            return status;
+        }
+
+        @Override
+        public void addPlugin(Plugin plugin) {
+        }
+
+        @Override
+        public void removePlugin(Plugin plugin) {
+        }
+    }
+
+    /**
+	 * Plugin counting its initializations and updates.
+	 */
+    private static final class TestPlugin implements Plugin {
+
+        private int inits;
+
+        private int updates;
+
+        @Override
+        public void init() {
+            inits++;
+        }
+
+        @Override
+        public void update(float deltaTime) {
+            updates++;
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public void initForApp(App app) {
+        }
+
+        @Override
+        public void processScene(Scene scene) {
+        }
+    }
+
+    /**
+	 * New build of {@link TestPlugin} that requires a display.
+	 */
+    private static final class DisplayPlugin implements Plugin {
+
+        @Override
+        public String getId() {
+            return TestPlugin.class.getName();
+        }
+
+        @Override
+        public boolean requiresDisplay() {
+            return true;
+        }
+
+        @Override
+        public void init() {
+        }
+
+        @Override
+        public void update(float deltaTime) {
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public void initForApp(App app) {
+        }
+
+        @Override
+        public void processScene(Scene scene) {
+        }
+    }
+
+    @Test
+    void stopThenStartKeepsOneActiveApp() {
+        TestEngine engine = new TestEngine();
+        engine.setHeadless(true);
+        TestApp app = new TestApp();
+        engine.startAppAsync(app).join();
+        assertEquals(1, engine.activeApps.size());
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[2];
+        engine.batch(() -> {
+            futures[0] = engine.stopAppAsync(app);
+            futures[1] = engine.startAppAsync(app);
+        });
+        CompletableFuture.allOf(futures).join();
+
+        assertEquals(1, engine.activeApps.size());
+        assertEquals(2, app.starts);
+        assertEquals(AppStatus.RUNNING, app.getStatus());
+        int before = app.updates;
+        engine.step(0.01f);
+        assertEquals(before + 1, app.updates, "app must be updated once per step");
+    }
+
+    @Test
+    void startThenStopLeavesNoApp() {
+        TestEngine engine = new TestEngine();
+        engine.setHeadless(true);
+        TestApp app = new TestApp();
+        engine.batch(() -> {
+            engine.startAppAsync(app);
+            engine.stopAppAsync(app);
+        });
+        assertTrue(engine.activeApps.isEmpty());
+    }
+
+    @Test
+    void unloadThenLoadKeepsOnePlugin() {
+        TestEngine engine = new TestEngine();
+        engine.setHeadless(true);
+        TestPlugin plugin = new TestPlugin();
+        engine.loadPluginAsync(plugin).join();
+        assertEquals(1, engine.plugins.size());
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[2];
+        engine.batch(() -> {
+            futures[0] = engine.unloadPluginAsync(plugin);
+            futures[1] = engine.loadPluginAsync(plugin);
+        });
+        CompletableFuture.allOf(futures).join();
+
+        assertEquals(1, engine.plugins.size());
+        assertEquals(2, plugin.inits);
+        int before = plugin.updates;
+        engine.step(0.01f);
+        assertEquals(before + 1, plugin.updates, "plugin must be updated once per step");
+    }
+
+    @Test
+    void headlessReloadDropsPluginRequiringDisplay() {
+        TestEngine engine = new TestEngine();
+        engine.setHeadless(true);
+        TestPlugin plugin = new TestPlugin();
+        engine.loadPluginAsync(plugin).join();
+
+        ServiceLoader.Provider<Plugin> provider = new ServiceLoader.Provider<>() {
+
+            @Override
+            public Class<? extends Plugin> type() {
+                return DisplayPlugin.class;
+            }
+
+            @Override
+            public Plugin get() {
+                return new DisplayPlugin();
+            }
+        };
+        engine.submit(new LifecycleCommand(LifecycleCommand.Kind.RELOAD_PLUGIN, plugin.getId(), provider)).join();
+
+        assertTrue(engine.plugins.isEmpty());
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.piengine.core.app.App;
+import org.piengine.core.plugin.Plugin;
+import org.piengine.core.plugin.PluginId;
+import org.piengine.core.scene.Scene;
+
+/**
+ * Tests the lookups of the {@link PluginRegistry}.
+ */
+class PluginRegistryTest {
+
+    /** The number of plugins instantiated. */
+    private static final AtomicInteger CREATED = new AtomicInteger();
+
+    /**
+	 * Plugin with the default id.
+	 */
+    public static class PlainPlugin implements Plugin {
+
+        public PlainPlugin() {
+            CREATED.incrementAndGet();
+        }
+
+        @Override
+        public void init() {
+        }
+
+        @Override
+        public void update(float deltaTime) {
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public void initForApp(App app) {
+        }
+
+        @Override
+        public void processScene(Scene scene) {
+        }
+    }
+
+    /**
+	 * Plugin with a declared id.
+	 */
+    @PluginId("named")
+    public static class NamedPlugin extends PlainPlugin {
+    }
+
+    /**
+	 * Provider instantiating its type reflectively.
+	 *
+	 * @param type the plugin type
+	 */
+    private record TestProvider(Class<? extends Plugin> type) implements ServiceLoader.Provider<Plugin> {
+
+        @Override
+        public Plugin get() {
+            try {
+                return type.getConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+	 * Creates a registry of the test plugins.
+	 *
+	 * @return the registry
+	 */
+    private static PluginRegistry registry() {
+        return new PluginRegistry(List.of(new TestProvider(PlainPlugin.class), new TestProvider(NamedPlugin.class)));
+    }
+
+    @Test
+    void findsByIdTypeAndSimpleNameWithoutInstantiating() {
+        PluginRegistry registry = registry();
+        int created = CREATED.get();
+
+        assertSame(NamedPlugin.class, registry.find("named").orElseThrow().type());
+        assertSame(NamedPlugin.class, registry.find(NamedPlugin.class.getName()).orElseThrow().type());
+        assertSame(PlainPlugin.class, registry.find("PlainPlugin").orElseThrow().type());
+        assertFalse(registry.find("missing").isPresent());
+
+        assertEquals(created, CREATED.get());
+    }
+
+    @Test
+    void declaredIdMatchesPluginId() {
+        assertEquals("named", new NamedPlugin().getId());
+        assertEquals(PlainPlugin.class.getName(), new PlainPlugin().getId());
+        assertEquals(List.of(PlainPlugin.class.getName(), "named"), registry().ids());
+    }
+
+    @Test
+    void unknownIdFailsListingKnownIds() {
+        PluginRegistry registry = registry();
+        int created = CREATED.get();
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> registry.create("nmaed"));
+
+        assertTrue(e.getMessage().contains("nmaed"));
+        assertTrue(e.getMessage().contains("named"));
+        assertEquals(created, CREATED.get());
+    }
+
+    @Test
+    void createInstantiatesOnlyTheResolvedProvider() {
+        PluginRegistry registry = registry();
+        int created = CREATED.get();
+
+        Plugin plugin = registry.create("named");
+
+        assertTrue(plugin instanceof NamedPlugin);
+        assertEquals(created + 1, CREATED.get());
+    }
+}
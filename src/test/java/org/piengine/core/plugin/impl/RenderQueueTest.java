@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.plugin.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the sort keys and ordering of the {@link RenderQueue}.
+ */
+class RenderQueueTest {
+
+    /**
+	 * Gets the items of a queue in sorted order.
+	 *
+	 * @param queue the queue
+	 * @return the item indices
+	 */
+    private static int[] sorted(RenderQueue queue) {
+        queue.sort();
+        int[] items = new int[queue.size()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = queue.item(i);
+        }
+        return items;
+    }
+
+    @Test
+    void packKeepsFieldsApart() {
+        long key = RenderQueue.pack(15, (1 << 20) - 1, 3, Float.MAX_VALUE);
+
+        assertEquals((1 << 20) - 1, RenderQueue.materialOf(key));
+        assertEquals(3, RenderQueue.meshOf(key));
+        assertEquals(15L, key >>> 60);
+        assertThrows(IllegalArgumentException.class, () -> RenderQueue.pack(16, 0, 0, 0f));
+        assertThrows(IllegalArgumentException.class, () -> RenderQueue.pack(-1, 0, 0, 0f));
+    }
+
+    @Test
+    void layersSortUnsigned() {
+        RenderQueue queue = new RenderQueue();
+        queue.add(15, "m", "a", 1f, 0);
+        queue.add(8, "m", "a", 1f, 1);
+        queue.add(7, "m", "a", 1f, 2);
+        queue.add(0, "m", "a", 1f, 3);
+
+        assertTrue(queue.key(0) < 0);
+        assertArrayEquals(new int[] { 3, 2, 1, 0 }, sorted(queue));
+    }
+
+    @Test
+    void materialGroupsBeforeMeshAndDepth() {
+        RenderQueue queue = new RenderQueue();
+        queue.add(0, "stone", "b", 1f, 0);
+        queue.add(0, "wood", "a", 0.5f, 1);
+        queue.add(0, "stone", "a", 9f, 2);
+
+        assertArrayEquals(new int[] { 0, 2, 1 }, sorted(queue));
+    }
+
+    @Test
+    void nearerDepthSortsFirstAndTiesKeepOrder() {
+        RenderQueue queue = new RenderQueue();
+        queue.add(0, "m", "a", 100f, 0);
+        queue.add(0, "m", "a", 2f, 1);
+        queue.add(0, "m", "a", 0.01f, 2);
+        queue.add(0, "m", "a", 2f, 3);
+        queue.add(0, "m", "a", Float.NaN, 4);
+
+        assertArrayEquals(new int[] { 4, 2, 1, 3, 0 }, sorted(queue));
+    }
+
+    @Test
+    void tooManyNamesInOneFrameThrows() {
+        RenderQueue queue = new RenderQueue(4);
+        for (int i = 0; i < 4; i++) {
+            queue.add(0, "m" + i, null, 1f, i);
+        }
+
+        assertThrows(IllegalStateException.class, () -> queue.add(0, "m4", null, 1f, 4));
+    }
+
+    @Test
+    void cyclingNamesAcrossFramesNeverRunsOut() {
+        RenderQueue queue = new RenderQueue(4);
+        for (int frame = 0; frame < 100; frame++) {
+            queue.clear();
+            queue.add(0, "m" + frame, "mesh" + frame, 1f, 0);
+            queue.add(0, "m" + (frame + 1), "mesh" + (frame + 1), 1f, 1);
+
+            assertArrayEquals(new int[] { 0, 1 }, sorted(queue));
+        }
+    }
+}
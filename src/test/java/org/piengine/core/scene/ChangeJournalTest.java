@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.scene;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link ChangeJournal}.
+ */
+class ChangeJournalTest {
+
+	@Test
+	void caughtUpCursorResynchronizesAfterClear() {
+		Scene scene = new Scene("test");
+		ChangeJournal journal = scene.useChangeJournal(16);
+		ChangeJournal.Cursor cursor = journal.cursor();
+		scene.addNode(new SceneNode("a"));
+		assertTrue(journal.read(cursor, (node, change, version) -> {}));
+		assertEquals(0, journal.backlog(cursor));
+
+		scene.clear();
+
+		assertEquals(-1, journal.backlog(cursor));
+		assertFalse(journal.read(cursor, (node, change, version) -> {}));
+		assertTrue(journal.read(cursor, (node, change, version) -> {}));
+	}
+
+	@Test
+	void cursorCreatedAfterClearReadsNewChanges() {
+		Scene scene = new Scene("test");
+		ChangeJournal journal = scene.useChangeJournal(16);
+		scene.clear();
+		ChangeJournal.Cursor cursor = journal.cursor();
+		SceneNode node = new SceneNode("a");
+		scene.addNode(node);
+
+		List<SceneChange> changes = new ArrayList<>();
+		assertTrue(journal.read(cursor, (n, change, version) -> changes.add(change)));
+		assertEquals(List.of(SceneChange.ADDED), changes);
+	}
+
+	@Test
+	void changesAfterReadAreJournaledAgain() {
+		Scene scene = new Scene("test");
+		ChangeJournal journal = scene.useChangeJournal(16);
+		SceneNode node = new SceneNode("a");
+		scene.addNode(node);
+		ChangeJournal.Cursor cursor = journal.cursor();
+
+		node.setPosition(1, 0, 0);
+		node.setPosition(2, 0, 0);
+		assertEquals(1, journal.backlog(cursor));
+		journal.read(cursor, (n, change, version) -> {});
+
+		node.setPosition(3, 0, 0);
+		assertEquals(1, journal.backlog(cursor));
+	}
+}
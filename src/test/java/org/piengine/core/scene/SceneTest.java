@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ * 
+ * Copyright (c) 2025 Sly Technologies Inc
+ * 
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * 
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * 
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.piengine.core.scene;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the world transforms and spatial indexing of a {@link Scene}.
+ */
+class SceneTest {
+
+	@Test
+	void childSubtreeRootIsReindexedAfterWorldPass() {
+		Scene scene = new Scene("test");
+		SpatialIndex index = scene.useSpatialIndex(100);
+		SceneNode parent = new SceneNode("parent");
+		SceneNode child = new SceneNode("child");
+		parent.addChild(child);
+		scene.addNode(parent);
+		parent.setPosition(50, 0, 0);
+		child.setPosition(10, 0, 0);
+		scene.updateWorldTransforms(ForkJoinPool.commonPool());
+		assertEquals(List.of(child), range(index, 60, 0, 0));
+
+		child.setPosition(-80, 0, 0);
+		scene.updateWorldTransforms(ForkJoinPool.commonPool());
+
+		assertEquals(List.of(child), range(index, -30, 0, 0));
+		assertTrue(range(index, 60, 0, 0).isEmpty());
+	}
+
+	@Test
+	void bulkWritesReachWorldTransformsIndexAndFrames() {
+		Scene scene = new Scene("test");
+		scene.setFrameBuffers(3);
+		TransformStore store = scene.useTransformStore(4);
+		SpatialIndex index = scene.useSpatialIndex(100);
+		SceneNode parent = new SceneNode("parent");
+		SceneNode child = new SceneNode("child");
+		parent.addChild(child);
+		scene.addNode(parent);
+		child.setPosition(10, 0, 0);
+		scene.updateWorldTransforms(ForkJoinPool.commonPool());
+		scene.clearChanges();
+
+		store.add(TransformStore.Column.POSITION_X, 20);
+		scene.transformsWritten();
+		assertEquals(2, scene.changedTransforms().size());
+		scene.updateWorldTransforms(ForkJoinPool.commonPool());
+		scene.clearChanges();
+		scene.publishFrame();
+
+		float[] world = child.getWorldMatrix(new float[16]);
+		assertEquals(50f, world[12]);
+		assertEquals(List.of(child), range(index, 50, 0, 0));
+		SceneFrame frame = scene.acquireFrame();
+		assertEquals(50f, frame.position(scene.getNodes().indexOf(child), 0));
+	}
+
+	/**
+	 * Finds the nodes around a point.
+	 *
+	 * @param index the index
+	 * @param x     the x
+	 * @param y     the y
+	 * @param z     the z
+	 * @return the nodes
+	 */
+	private static List<SceneNode> range(SpatialIndex index, float x, float y, float z) {
+		List<SceneNode> result = new ArrayList<>();
+		index.range(x, y, z, 1, result);
+		return result;
+	}
+}